@@ -0,0 +1,39 @@
+package com.example.automobile_risk.benchmark;
+
+import com.example.automobile_risk.dto.ChatbotResponse;
+import com.example.automobile_risk.service.ChatbotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ChatbotBenchmark {
+
+    @Param({ "납기 리스크 알려줘", "프레스 공정 상태는?", "전체 현황 요약", "오늘 점심 메뉴" })
+    public String message;
+
+    private ConfigurableApplicationContext context;
+    private ChatbotService chatbotService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("chatbot");
+        chatbotService = context.getBean(ChatbotService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ChatbotResponse query() {
+        return chatbotService.query(message);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.automobile_risk.benchmark;
+
+import com.example.automobile_risk.dto.DashboardResponse;
+import com.example.automobile_risk.service.DashboardChangeTracker;
+import com.example.automobile_risk.service.DashboardService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getMainDashboardData} at several anomaly table sizes: {@code cached} serves the current
+ * snapshot, {@code rebuild} invalidates the anomaly section first so every call hits the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DashboardBenchmark {
+
+    private static final String[] PROCESSES = { "프레스", "엔진", "차체", "도장", "설비" };
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private DashboardService dashboardService;
+    private DashboardChangeTracker changeTracker;
+    private Cache secondLevelCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("dashboard-" + rows);
+        dashboardService = context.getBean(DashboardService.class);
+        changeTracker = context.getBean(DashboardChangeTracker.class);
+        secondLevelCache = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getCache();
+        seed(context.getBean(JdbcTemplate.class));
+        secondLevelCache.evictAllRegions();
+        changeTracker.markAllChanged(DashboardChangeTracker.Section.ANOMALY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DashboardResponse cached() {
+        return dashboardService.getMainDashboardData();
+    }
+
+    @Benchmark
+    public DashboardResponse rebuild() {
+        // Stands in for a write to the anomalies table, which also invalidates the cached aggregate
+        secondLevelCache.evictQueryRegion("anomaly-queries");
+        changeTracker.markAllChanged(DashboardChangeTracker.Section.ANOMALY);
+        return dashboardService.getMainDashboardData();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[] {
+                    PROCESSES[random.nextInt(PROCESSES.length)],
+                    1L + random.nextInt(20),
+                    random.nextDouble(0.1, 6.0),
+                    random.nextInt(3) == 0 ? "anomaly" : "warning" });
+            if (batch.size() == 10_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into anomalies (process_name, count, avg_delay, type) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.automobile_risk.benchmark;
+
+import com.example.automobile_risk.dto.TelemetryBatchRequest;
+import com.example.automobile_risk.entity.TelemetrySignal;
+import com.example.automobile_risk.service.TelemetryFrameCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one telemetry batch of {@code samples} readings from the JSON body and from binary
+ * frames. Only the wire format is measured; both paths store the readings the same way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TelemetryFrameBenchmark {
+
+    private static final String[] PROCESSES = { "프레스", "엔진", "차체", "도장", "설비" };
+
+    @Param({ "1000", "10000" })
+    public int samples;
+
+    private ObjectMapper objectMapper;
+    private byte[] json;
+    private byte[] frames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+        SplittableRandom random = new SplittableRandom(7);
+        TelemetrySignal[] signals = TelemetrySignal.values();
+        long now = Instant.now().toEpochMilli();
+        List<TelemetryBatchRequest.Reading> readings = new ArrayList<>(samples);
+        ByteBuffer buffer = ByteBuffer.allocate(samples * TelemetryFrameCodec.FRAME_LENGTH);
+        for (int i = 0; i < samples; i++) {
+            int process = random.nextInt(PROCESSES.length);
+            TelemetrySignal signal = signals[random.nextInt(signals.length)];
+            double value = random.nextDouble(0, 1000);
+            readings.add(TelemetryBatchRequest.Reading.builder()
+                    .processName(PROCESSES[process])
+                    .signal(signal)
+                    .value(value)
+                    .recordedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(now + i), ZoneId.systemDefault()))
+                    .build());
+            TelemetryFrameCodec.encode(buffer, process + 1, signal, now + i, value);
+        }
+        json = objectMapper.writeValueAsBytes(TelemetryBatchRequest.builder().readings(readings).build());
+        frames = buffer.array();
+    }
+
+    @Benchmark
+    public void json(Blackhole blackhole) throws IOException {
+        for (TelemetryBatchRequest.Reading reading : objectMapper.readValue(json, TelemetryBatchRequest.class)
+                .getReadings()) {
+            blackhole.consume(reading.getValue());
+        }
+    }
+
+    @Benchmark
+    public int frames(Blackhole blackhole) {
+        return TelemetryFrameCodec.decode(ByteBuffer.wrap(frames),
+                (processId, signal, epochMillis, value) -> blackhole.consume(value));
+    }
+}
@@ -1,26 +1,28 @@
 package com.example.automobile_risk.config;
 
 import com.example.automobile_risk.entity.Anomaly;
-import com.example.automobile_risk.entity.DashboardHistory;
 import com.example.automobile_risk.entity.Post;
 import com.example.automobile_risk.entity.ProcessEntity;
 import com.example.automobile_risk.repository.AnomalyRepository;
-import com.example.automobile_risk.repository.DashboardHistoryRepository;
 import com.example.automobile_risk.repository.PostRepository;
 import com.example.automobile_risk.repository.ProcessRepository;
+import com.example.automobile_risk.service.DelayHistoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 
 @Configuration
+@Profile("!loadgen") // LoadDataGenerator seeds instead
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
 
         private final ProcessRepository processRepository;
         private final AnomalyRepository anomalyRepository;
-        private final DashboardHistoryRepository historyRepository;
+        private final DelayHistoryService delayHistoryService;
         private final PostRepository postRepository;
 
         @Override
@@ -28,49 +30,49 @@ public class DataInitializer implements CommandLineRunner {
                 if (processRepository.count() == 0) {
                         processRepository.saveAll(Arrays.asList(
                                         ProcessEntity.builder().name("프레스").efficiency(85.0).status("정상")
-                                                        .normalCount(85).warningCount(10)
-                                                        .anomalyCount(5).build(),
-                                        ProcessEntity.builder().name("엔진").efficiency(90.0).status("정상").normalCount(90)
-                                                        .warningCount(7)
-                                                        .anomalyCount(3).build(),
-                                        ProcessEntity.builder().name("차체").efficiency(78.0).status("위험").normalCount(78)
-                                                        .warningCount(15)
-                                                        .anomalyCount(7).build(),
-                                        ProcessEntity.builder().name("도장").efficiency(88.0).status("정상").normalCount(88)
-                                                        .warningCount(8)
-                                                        .anomalyCount(4).build(),
-                                        ProcessEntity.builder().name("설비").efficiency(92.0).status("정상").normalCount(92)
-                                                        .warningCount(5)
-                                                        .anomalyCount(3).build()));
+                                                        .normalCount(85L).warningCount(10L)
+                                                        .anomalyCount(5L).build(),
+                                        ProcessEntity.builder().name("엔진").efficiency(90.0).status("정상").normalCount(90L)
+                                                        .warningCount(7L)
+                                                        .anomalyCount(3L).build(),
+                                        ProcessEntity.builder().name("차체").efficiency(78.0).status("위험").normalCount(78L)
+                                                        .warningCount(15L)
+                                                        .anomalyCount(7L).build(),
+                                        ProcessEntity.builder().name("도장").efficiency(88.0).status("정상").normalCount(88L)
+                                                        .warningCount(8L)
+                                                        .anomalyCount(4L).build(),
+                                        ProcessEntity.builder().name("설비").efficiency(92.0).status("정상").normalCount(92L)
+                                                        .warningCount(5L)
+                                                        .anomalyCount(3L).build()));
 
                         anomalyRepository.saveAll(Arrays.asList(
-                                        Anomaly.builder().processName("프레스").count(5).avgDelay(2.5).type("anomaly")
+                                        Anomaly.builder().processName("프레스").count(5L).avgDelay(2.5).type("anomaly")
                                                         .build(),
-                                        Anomaly.builder().processName("프레스").count(10).avgDelay(0.5).type("warning")
+                                        Anomaly.builder().processName("프레스").count(10L).avgDelay(0.5).type("warning")
                                                         .build(),
-                                        Anomaly.builder().processName("엔진").count(3).avgDelay(4.0).type("anomaly")
+                                        Anomaly.builder().processName("엔진").count(3L).avgDelay(4.0).type("anomaly")
                                                         .build(),
-                                        Anomaly.builder().processName("엔진").count(7).avgDelay(0.8).type("warning")
+                                        Anomaly.builder().processName("엔진").count(7L).avgDelay(0.8).type("warning")
                                                         .build(),
-                                        Anomaly.builder().processName("차체").count(7).avgDelay(3.2).type("anomaly")
+                                        Anomaly.builder().processName("차체").count(7L).avgDelay(3.2).type("anomaly")
                                                         .build(),
-                                        Anomaly.builder().processName("차체").count(15).avgDelay(0.6).type("warning")
+                                        Anomaly.builder().processName("차체").count(15L).avgDelay(0.6).type("warning")
                                                         .build(),
-                                        Anomaly.builder().processName("도장").count(4).avgDelay(2.8).type("anomaly")
+                                        Anomaly.builder().processName("도장").count(4L).avgDelay(2.8).type("anomaly")
                                                         .build(),
-                                        Anomaly.builder().processName("도장").count(8).avgDelay(0.4).type("warning")
+                                        Anomaly.builder().processName("도장").count(8L).avgDelay(0.4).type("warning")
                                                         .build(),
-                                        Anomaly.builder().processName("설비").count(3).avgDelay(5.0).type("anomaly")
+                                        Anomaly.builder().processName("설비").count(3L).avgDelay(5.0).type("anomaly")
                                                         .build(),
-                                        Anomaly.builder().processName("설비").count(5).avgDelay(1.0).type("warning")
+                                        Anomaly.builder().processName("설비").count(5L).avgDelay(1.0).type("warning")
                                                         .build()));
 
-                        historyRepository.saveAll(Arrays.asList(
-                                        DashboardHistory.builder().date("1/5").totalDelay(35.0).build(),
-                                        DashboardHistory.builder().date("1/6").totalDelay(42.0).build(),
-                                        DashboardHistory.builder().date("1/7").totalDelay(58.0).build(),
-                                        DashboardHistory.builder().date("1/8").totalDelay(51.0).build()));
-                        historyRepository.save(DashboardHistory.builder().date("2024-03-24").totalDelay(2.2).build());
+                        LocalDate today = LocalDate.now();
+                        double[] pastDelays = { 35.0, 42.0, 58.0, 51.0 };
+                        for (int i = 0; i < pastDelays.length; i++) {
+                                delayHistoryService.record(today.minusDays(pastDelays.length - i).atTime(18, 0),
+                                                pastDelays[i]);
+                        }
                 }
 
                 // Seed Board
@@ -0,0 +1,27 @@
+package com.example.automobile_risk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Orders and simulation settings for the delivery risk engine ({@code app.risk.*}).
+ */
+@ConfigurationProperties(prefix = "app.risk")
+public record DeliveryRiskProperties(
+        @DefaultValue("200000") int trials,
+        @DefaultValue("42") long seed,
+        @DefaultValue List<Order> orders) {
+
+    /**
+     * @param workloadFactor remaining production relative to the window the anomaly counts were observed over
+     */
+    public record Order(
+            String id,
+            LocalDateTime plannedCompletion,
+            LocalDateTime deadline,
+            @DefaultValue("1.0") double workloadFactor) {
+    }
+}
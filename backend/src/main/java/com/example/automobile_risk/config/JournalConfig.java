@@ -0,0 +1,30 @@
+package com.example.automobile_risk.config;
+
+import com.example.automobile_risk.entity.JournalCheckpoint;
+import com.example.automobile_risk.repository.JournalCheckpointRepository;
+import com.example.automobile_risk.service.TelemetryJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Puts the telemetry journal in front of the database when {@code app.journal.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.journal.enabled", havingValue = "true")
+public class JournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public TelemetryJournal telemetryJournal(JournalCheckpointRepository checkpointRepository,
+            @Value("${app.journal.directory:journal}") Path directory,
+            @Value("${app.journal.segment-size-mb:64}") int segmentSizeMb) throws IOException {
+        long appliedOffset = checkpointRepository.findById(TelemetryJournal.NAME)
+                .map(JournalCheckpoint::getAppliedOffset)
+                .orElse(0L);
+        return TelemetryJournal.open(directory, segmentSizeMb << 20, appliedOffset);
+    }
+}
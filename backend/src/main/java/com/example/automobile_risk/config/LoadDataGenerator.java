@@ -0,0 +1,203 @@
+package com.example.automobile_risk.config;
+
+import com.example.automobile_risk.entity.Anomaly;
+import com.example.automobile_risk.entity.DelaySample;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.repository.ProcessRepository;
+import com.example.automobile_risk.service.DashboardChangeTracker;
+import com.example.automobile_risk.service.DashboardChangeTracker.Section;
+import com.example.automobile_risk.service.DelayHistoryService;
+import com.example.automobile_risk.service.EntityCacheEvictor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntSupplier;
+
+/**
+ * Loads a large synthetic dataset for capacity planning and load tests in place of
+ * {@link DataInitializer}: many plants and lines, millions of anomaly events, years of delay
+ * history and hundreds of thousands of posts. Volumes come from {@link LoadDataProperties} and
+ * every table draws from its own seeded random, so the same settings always produce the same data.
+ * <p>
+ * Tables are filled in parallel with batched JDBC inserts. Delay history goes through
+ * {@link DelayHistoryService#recordAll} so the hourly and daily rollups match the samples.
+ */
+@Slf4j
+@Configuration
+@Profile("loadgen")
+@RequiredArgsConstructor
+public class LoadDataGenerator implements CommandLineRunner {
+
+    private static final String[] PROCESSES = { "프레스", "엔진", "차체", "도장", "설비" };
+    private static final String[] TOPICS = { "정기 점검", "설비 교체", "라인 정지", "품질 이슈", "납기 지연", "교대 근무" };
+    private static final String[] SENTENCES = {
+            "금일 작업 일정에 변경이 있습니다.", "해당 공정의 센서 값이 기준을 벗어났습니다.",
+            "부품 입고가 지연되어 생산 계획을 조정합니다.", "안전 수칙을 다시 한번 확인해 주세요.",
+            "점검 결과는 첨부 문서를 참고하시기 바랍니다.", "다음 교대조에 인수인계 부탁드립니다." };
+    private static final String[] AUTHORS = { "관리자", "생산팀", "품질팀", "설비팀", "물류팀" };
+
+    private final LoadDataProperties properties;
+    private final ProcessRepository processRepository;
+    private final DelayHistoryService delayHistoryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final DashboardChangeTracker changeTracker;
+
+    @Override
+    public void run(String... args) throws InterruptedException, ExecutionException {
+        if (processRepository.count() > 0) {
+            log.info("Database already has data, skipping synthetic load");
+            return;
+        }
+        List<PlantLine> partitions = new ArrayList<>();
+        for (int plant = 1; plant <= properties.plants(); plant++) {
+            for (int line = 1; line <= properties.linesPerPlant(); line++) {
+                partitions.add(new PlantLine("P" + plant, "L" + line));
+            }
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tasks = List.of(
+                    executor.submit(() -> timed("processes", () -> insertProcesses(partitions))),
+                    executor.submit(() -> timed("anomalies", () -> insertAnomalies(partitions))),
+                    executor.submit(() -> timed("posts", this::insertPosts)),
+                    executor.submit(() -> timed("delay samples", () -> insertHistory(partitions))));
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        // Plain JDBC bypasses Hibernate, so cached queries and dashboard sections are stale; every row is new,
+        // so none of them is cached
+        entityCacheEvictor.evict(ProcessEntity.class, List.of(), "process-queries");
+        entityCacheEvictor.evict(Anomaly.class, List.of(), "anomaly-queries");
+        for (PlantLine partition : partitions) {
+            changeTracker.markChanged(partition, Section.PROCESS);
+            changeTracker.markChanged(partition, Section.ANOMALY);
+        }
+        log.info("Synthetic load finished in {}s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private int insertProcesses(List<PlantLine> partitions) {
+        SplittableRandom random = new SplittableRandom(properties.seed());
+        List<Object[]> rows = new ArrayList<>();
+        for (PlantLine partition : partitions) {
+            for (String process : PROCESSES) {
+                double efficiency = random.nextDouble(70, 98);
+                long total = random.nextLong(5_000, 50_000);
+                long anomalies = (long) (total * random.nextDouble(0.01, 0.08));
+                long warnings = (long) (total * random.nextDouble(0.03, 0.15));
+                rows.add(new Object[] { partition.plant(), partition.line(), process,
+                        Math.round(efficiency * 10) / 10.0, efficiency < 80 ? "위험" : "정상",
+                        total - anomalies - warnings, warnings, anomalies });
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into processes (plant, line, name, efficiency, status, normal_count, "
+                + "warning_count, anomaly_count) values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return rows.size();
+    }
+
+    private int insertAnomalies(List<PlantLine> partitions) {
+        SplittableRandom random = new SplittableRandom(properties.seed() + 1);
+        List<Object[]> batch = new ArrayList<>(properties.batchSize());
+        for (int i = 0; i < properties.anomalyEvents(); i++) {
+            PlantLine partition = partitions.get(random.nextInt(partitions.size()));
+            boolean anomaly = random.nextInt(3) == 0;
+            // Anomalies are rarer and stop the line for longer than warnings
+            batch.add(new Object[] { partition.plant(), partition.line(), PROCESSES[random.nextInt(PROCESSES.length)],
+                    anomaly ? "anomaly" : "warning", 1L + random.nextInt(anomaly ? 5 : 20),
+                    anomaly ? random.nextDouble(1.0, 6.0) : random.nextDouble(0.1, 1.5) });
+            if (batch.size() == properties.batchSize()) {
+                insertAnomalyBatch(batch);
+            }
+        }
+        insertAnomalyBatch(batch);
+        return properties.anomalyEvents();
+    }
+
+    private void insertAnomalyBatch(List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into anomalies (plant, line, process_name, type, count, avg_delay) "
+                    + "values (?, ?, ?, ?, ?, ?)", batch);
+            batch.clear();
+        }
+    }
+
+    private int insertPosts() {
+        SplittableRandom random = new SplittableRandom(properties.seed() + 2);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long spanSeconds = properties.historyDays() * 86_400L;
+        List<Object[]> batch = new ArrayList<>(properties.batchSize());
+        for (int i = 0; i < properties.posts(); i++) {
+            StringBuilder content = new StringBuilder();
+            for (int s = 1 + random.nextInt(4); s > 0; s--) {
+                content.append(SENTENCES[random.nextInt(SENTENCES.length)]).append(' ');
+            }
+            String title = "[" + PROCESSES[random.nextInt(PROCESSES.length)] + "] "
+                    + TOPICS[random.nextInt(TOPICS.length)] + " #" + (i + 1);
+            batch.add(new Object[] { title, content.toString().trim(), AUTHORS[random.nextInt(AUTHORS.length)],
+                    Timestamp.valueOf(now.minusSeconds(random.nextLong(spanSeconds))) });
+            if (batch.size() == properties.batchSize() || i == properties.posts() - 1) {
+                jdbcTemplate.batchUpdate("insert into posts (title, content, author_name, created_at) "
+                        + "values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return properties.posts();
+    }
+
+    private int insertHistory(List<PlantLine> partitions) {
+        SplittableRandom random = new SplittableRandom(properties.seed() + 3);
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        long stepMinutes = 24 * 60 / Math.max(1, properties.samplesPerDay());
+        int count = 0;
+        for (PlantLine partition : partitions) {
+            // Each line drifts around its own level, with a weekly cycle
+            double level = random.nextDouble(20, 60);
+            List<DelaySample> batch = new ArrayList<>(properties.batchSize());
+            for (LocalDateTime at = end.minusDays(properties.historyDays()); at.isBefore(end);
+                    at = at.plusMinutes(stepMinutes)) {
+                level = Math.max(0, level + random.nextDouble(-1.0, 1.0));
+                double weekly = 5 * Math.sin(2 * Math.PI * at.getDayOfWeek().getValue() / 7.0);
+                batch.add(DelaySample.builder()
+                        .plant(partition.plant())
+                        .line(partition.line())
+                        .recordedAt(at)
+                        .delayHours(Math.round(Math.max(0, level + weekly) * 10) / 10.0)
+                        .build());
+                if (batch.size() == properties.batchSize()) {
+                    delayHistoryService.recordAll(batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(properties.batchSize());
+                }
+            }
+            delayHistoryService.recordAll(batch);
+            count += batch.size();
+        }
+        return count;
+    }
+
+    private void timed(String table, IntSupplier insert) {
+        long start = System.nanoTime();
+        int rows = insert.getAsInt();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Generated {} {} in {}s ({} rows/s)", rows, table, String.format("%.1f", seconds),
+                String.format("%.0f", rows / Math.max(seconds, 1e-9)));
+    }
+}
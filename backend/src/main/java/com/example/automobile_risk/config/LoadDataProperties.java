@@ -0,0 +1,19 @@
+package com.example.automobile_risk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Volumes for the synthetic dataset loaded under the {@code loadgen} profile ({@code app.loadgen.*}).
+ */
+@ConfigurationProperties(prefix = "app.loadgen")
+public record LoadDataProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("4") int plants,
+        @DefaultValue("3") int linesPerPlant,
+        @DefaultValue("2000000") int anomalyEvents,
+        @DefaultValue("1095") int historyDays,
+        @DefaultValue("24") int samplesPerDay,
+        @DefaultValue("200000") int posts,
+        @DefaultValue("10000") int batchSize) {
+}
@@ -0,0 +1,89 @@
+package com.example.automobile_risk.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schema changes that {@code ddl-auto=update} does not make on an existing database: Hibernate adds
+ * tables, columns and constraints but never drops one or changes a column type. Runs after the
+ * entity manager factory has updated the schema and before any runner writes data. Every step
+ * inspects the schema first, so on a fresh database nothing happens.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SchemaMigrations {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void migrate() {
+        // Process names and rollup buckets used to be unique table-wide; they are unique per plant line now
+        replaceUniqueConstraint("processes", Set.of("name"),
+                "uk_processes_plant_line_name", List.of("plant", "line", "name"));
+        replaceUniqueConstraint("delay_rollups", Set.of("resolution", "bucket_start"),
+                "uk_delay_rollups_plant_line_bucket", List.of("plant", "line", "resolution", "bucket_start"));
+        // Event counters are mapped to Long; int columns would overflow on a busy line
+        widenToBigint("processes", "normal_count", "warning_count", "anomaly_count");
+        widenToBigint("anomalies", "count");
+    }
+
+    private void widenToBigint(String table, String... columns) {
+        for (String column : columns) {
+            List<String> types = jdbcTemplate.queryForList("""
+                    select data_type from information_schema.columns
+                    where table_schema = current_schema and lower(table_name) = ? and lower(column_name) = ?
+                    """, String.class, table, column);
+            if (!types.isEmpty() && types.get(0).equalsIgnoreCase("integer")) {
+                jdbcTemplate.execute("alter table " + table + " alter column " + column + " set data type bigint");
+                log.info("Widened {}.{} to bigint", table, column);
+            }
+        }
+    }
+
+    private void replaceUniqueConstraint(String table, Set<String> oldColumns, String name, List<String> columns) {
+        Map<String, Set<String>> constraints = uniqueConstraints(table);
+        constraints.forEach((constraint, constrained) -> {
+            if (constrained.equals(oldColumns)) {
+                jdbcTemplate.execute("alter table " + table + " drop constraint \"" + constraint + "\"");
+                log.info("Dropped unique constraint {} on {}{}", constraint, table, oldColumns);
+            }
+        });
+        if (!constraints.containsValue(Set.copyOf(columns))) {
+            jdbcTemplate.execute("alter table " + table + " add constraint " + name
+                    + " unique (" + String.join(", ", columns) + ")");
+            log.info("Added unique constraint {} on {}{}", name, table, columns);
+        }
+    }
+
+    /**
+     * Unique constraints of a table in the current schema, by name, with their lower-cased columns.
+     */
+    private Map<String, Set<String>> uniqueConstraints(String table) {
+        Map<String, Set<String>> constraints = new HashMap<>();
+        jdbcTemplate.query("""
+                select tc.constraint_name, kcu.column_name
+                from information_schema.table_constraints tc
+                join information_schema.key_column_usage kcu
+                    on kcu.constraint_schema = tc.constraint_schema and kcu.constraint_name = tc.constraint_name
+                where tc.constraint_type = 'UNIQUE'
+                    and tc.table_schema = current_schema and lower(tc.table_name) = ?
+                """, row -> {
+                    constraints.computeIfAbsent(row.getString(1), k -> new HashSet<>())
+                            .add(row.getString(2).toLowerCase(Locale.ROOT));
+                }, table);
+        return constraints;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.automobile_risk.controller;
+
+import com.example.automobile_risk.dto.BatteryPredictionRequest;
+import com.example.automobile_risk.dto.BatteryPredictionResponse;
+import com.example.automobile_risk.service.BatteryPredictionClient;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/battery")
+@RequiredArgsConstructor
+public class BatteryController {
+
+    private final BatteryPredictionClient batteryPredictionClient;
+
+    @PostMapping("/predict")
+    public CompletableFuture<BatteryPredictionResponse> predict(@Valid @RequestBody BatteryPredictionRequest request) {
+        return batteryPredictionClient.predict(request).thenApply(BatteryPredictionResponse::new);
+    }
+}
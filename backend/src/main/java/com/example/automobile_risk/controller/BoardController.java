@@ -1,7 +1,10 @@
 package com.example.automobile_risk.controller;
 
+import com.example.automobile_risk.dto.PostPageResponse;
+import com.example.automobile_risk.dto.PostSearchResponse;
 import com.example.automobile_risk.entity.Post;
 import com.example.automobile_risk.service.BoardService;
+import com.example.automobile_risk.service.PostSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -16,12 +19,26 @@ import java.util.List;
 public class BoardController {
 
     private final BoardService boardService;
+    private final PostSearchService postSearchService;
 
     @GetMapping
     public List<Post> getAllPosts() {
         return boardService.getAllPosts();
     }
 
+    @GetMapping("/page")
+    public PostPageResponse getPostPage(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return boardService.getPostPage(cursor, size);
+    }
+
+    @GetMapping("/search")
+    public PostSearchResponse search(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return postSearchService.search(query, page, size);
+    }
+
     @PostMapping
     public ResponseEntity<Post> createPost(@RequestBody Post post, @AuthenticationPrincipal UserDetails userDetails) {
         // Find user by username to get ID if needed, or just set from principal
@@ -0,0 +1,121 @@
+package com.example.automobile_risk.controller;
+
+import com.example.automobile_risk.service.BulkDataService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Bulk export ({@code format=csv|columnar}) and import of anomaly and delay history data. Imports
+ * pick the format from the request content type: {@code text/csv} or {@code application/octet-stream}.
+ */
+@RestController
+@RequestMapping("/api/v1/data")
+@RequiredArgsConstructor
+public class BulkDataController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final BulkDataService bulkDataService;
+
+    @GetMapping("/anomalies")
+    public ResponseEntity<StreamingResponseBody> exportAnomalies(@RequestParam(defaultValue = "csv") String format) {
+        boolean columnar = isColumnar(format);
+        return download("anomalies", columnar, out -> {
+            if (columnar) {
+                bulkDataService.exportAnomaliesColumnar(out);
+            } else {
+                bulkDataService.exportAnomaliesCsv(out);
+            }
+        });
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        boolean columnar = isColumnar(format);
+        return download("delay-history", columnar, out -> {
+            if (columnar) {
+                bulkDataService.exportDelaySamplesColumnar(start, end, out);
+            } else {
+                bulkDataService.exportDelaySamplesCsv(start, end, out);
+            }
+        });
+    }
+
+    @PostMapping("/anomalies")
+    public Map<String, Integer> importAnomalies(HttpServletRequest request) throws IOException {
+        try (InputStream in = new BufferedInputStream(request.getInputStream(), 64 * 1024)) {
+            int imported = isColumnarUpload(request)
+                    ? bulkDataService.importAnomaliesColumnar(in, request.getContentLengthLong())
+                    : bulkDataService.importAnomaliesCsv(in);
+            return Map.of("imported", imported);
+        }
+    }
+
+    @PostMapping("/history")
+    public Map<String, Integer> importHistory(HttpServletRequest request) throws IOException {
+        try (InputStream in = new BufferedInputStream(request.getInputStream(), 64 * 1024)) {
+            int imported = isColumnarUpload(request)
+                    ? bulkDataService.importDelaySamplesColumnar(in, request.getContentLengthLong())
+                    : bulkDataService.importDelaySamplesCsv(in);
+            return Map.of("imported", imported);
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(String name, boolean columnar,
+            StreamingResponseBody body) {
+        String filename = name + (columnar ? ".arcf" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(columnar ? MediaType.APPLICATION_OCTET_STREAM : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> {
+                    BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+                    body.writeTo(buffered);
+                    buffered.flush();
+                });
+    }
+
+    private static boolean isColumnar(String format) {
+        return switch (format) {
+            case "csv" -> false;
+            case "columnar" -> true;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported format: " + format);
+        };
+    }
+
+    private static boolean isColumnarUpload(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Content-Type is required");
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_OCTET_STREAM)) {
+            return true;
+        }
+        if (mediaType.isCompatibleWith(TEXT_CSV)) {
+            return false;
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Expected text/csv or application/octet-stream");
+    }
+}
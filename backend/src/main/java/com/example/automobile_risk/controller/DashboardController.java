@@ -1,19 +1,130 @@
 package com.example.automobile_risk.controller;
 
-import com.example.automobile_risk.dto.DashboardResponse;
-import com.example.automobile_risk.service.DashboardService;
+import com.example.automobile_risk.dto.DelaySeriesResponse;
+import com.example.automobile_risk.dto.DeliveryRiskResponse;
+import com.example.automobile_risk.dto.DetectorStateResponse;
+import com.example.automobile_risk.service.AnomalyDetector;
+import com.example.automobile_risk.service.DashboardPayloadCache;
+import com.example.automobile_risk.service.DashboardStreamService;
+import com.example.automobile_risk.service.DelayHistoryService;
+import com.example.automobile_risk.service.DeliveryRiskEngine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/v1/dashboard")
 @RequiredArgsConstructor
 public class DashboardController {
 
-    private final DashboardService dashboardService;
+    private final DashboardPayloadCache dashboardPayloadCache;
+    private final AnomalyDetector anomalyDetector;
+    private final DashboardStreamService dashboardStreamService;
+    private final DelayHistoryService delayHistoryService;
+    private final DeliveryRiskEngine deliveryRiskEngine;
 
+    /**
+     * Serves pre-serialized bytes with a strong ETag per encoding; an unchanged dashboard is
+     * answered with 304.
+     * Without {@code plant} the view covers all plants, without {@code line} all lines of the plant.
+     */
     @GetMapping("/main")
-    public DashboardResponse getMainDashboard() {
-        return dashboardService.getMainDashboardData();
+    public ResponseEntity<byte[]> getMainDashboard(
+            @RequestParam(required = false) String plant,
+            @RequestParam(required = false) String line,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        DashboardPayloadCache.Payload payload = dashboardPayloadCache.get(plant, line);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? payload.getGzipEtag() : payload.getEtag();
+        if (matches(ifNoneMatch, payload)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.getGzip());
+        }
+        return response.body(payload.getJson());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        return dashboardStreamService.subscribe();
+    }
+
+    @GetMapping("/detector")
+    public DetectorStateResponse getDetectorState() {
+        return anomalyDetector.getState();
+    }
+
+    /**
+     * Delay over time for the same scopes as {@code /main}; unknown plants and lines are answered with 400.
+     */
+    @GetMapping("/history")
+    public DelaySeriesResponse getDelayHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "500") int points,
+            @RequestParam(required = false) String plant,
+            @RequestParam(required = false) String line) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        return delayHistoryService.getSeries(plant, line, start, end, points);
+    }
+
+    /**
+     * Either tag of the current payload matches: both encodings carry the same content, so a
+     * client holding one of them is up to date whichever it asks for now.
+     */
+    private static boolean matches(String ifNoneMatch, DashboardPayloadCache.Payload payload) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses weak comparison, so a W/ prefix added by a proxy still matches
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(payload.getEtag()) || tag.equals(payload.getGzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    @GetMapping("/risk")
+    public DeliveryRiskResponse getDeliveryRisk() {
+        return deliveryRiskEngine.getRisk();
     }
 }
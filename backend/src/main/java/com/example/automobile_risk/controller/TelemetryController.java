@@ -0,0 +1,54 @@
+package com.example.automobile_risk.controller;
+
+import com.example.automobile_risk.dto.TelemetryBatchRequest;
+import com.example.automobile_risk.dto.TelemetryIngestResponse;
+import com.example.automobile_risk.service.TelemetryFrameCodec;
+import com.example.automobile_risk.service.TelemetryService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+@RestController
+@RequestMapping("/api/v1/telemetry")
+@RequiredArgsConstructor
+public class TelemetryController {
+
+    private static final int MAX_FRAME_BODY = TelemetryService.MAX_FRAMES * TelemetryFrameCodec.FRAME_LENGTH;
+
+    private final TelemetryService telemetryService;
+
+    @PostMapping
+    public ResponseEntity<TelemetryIngestResponse> ingest(@Valid @RequestBody TelemetryBatchRequest request) {
+        int accepted = telemetryService.ingest(request.getReadings());
+        return ResponseEntity.status(201).body(TelemetryIngestResponse.builder().accepted(accepted).build());
+    }
+
+    /**
+     * Refuses a body longer than {@link TelemetryService#MAX_FRAMES} frames before buffering it: by
+     * its Content-Length when the client sends one, otherwise once reading passes the limit.
+     */
+    @PostMapping(consumes = TelemetryFrameCodec.MEDIA_TYPE)
+    public ResponseEntity<TelemetryIngestResponse> ingestFrames(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > MAX_FRAME_BODY) {
+            throw tooLarge();
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_FRAME_BODY + 1);
+        if (body.length > MAX_FRAME_BODY) {
+            throw tooLarge();
+        }
+        int accepted = telemetryService.ingestFrames(ByteBuffer.wrap(body));
+        return ResponseEntity.status(201).body(TelemetryIngestResponse.builder().accepted(accepted).build());
+    }
+
+    private static ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE,
+                "Expected at most " + TelemetryService.MAX_FRAMES + " frames");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.automobile_risk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Battery welding parameters, named as the ml-service expects them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatteryPredictionRequest {
+    @NotNull
+    @JsonProperty("Speed")
+    private Integer speed;
+
+    @NotNull
+    @JsonProperty("Length")
+    private Double length;
+
+    @NotNull
+    @JsonProperty("RealPower")
+    private Double realPower;
+
+    // Left out when null so the ml-service defaults (1000 and 100) apply
+    @JsonProperty("SetFrequency")
+    private Integer setFrequency;
+
+    @JsonProperty("SetDuty")
+    private Integer setDuty;
+
+    @NotNull
+    @JsonProperty("SetPower")
+    private Integer setPower;
+
+    @NotNull
+    @JsonProperty("GateOnTime")
+    private Integer gateOnTime;
+}
@@ -0,0 +1,20 @@
+package com.example.automobile_risk.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Changed top-level fields of {@link DashboardResponse} between two snapshot versions. Lists are
+ * sent whole when any element changed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardDelta {
+    private Long baseVersion;
+    private Long version;
+    private Map<String, Object> changes;
+}
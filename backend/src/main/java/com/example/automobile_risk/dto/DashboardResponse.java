@@ -11,8 +11,8 @@ import java.util.List;
 public class DashboardResponse {
     private List<AnomalyData> anomalyData;
     private List<AnomalyData> warningData;
-    private Integer totalAnomalies;
-    private Integer totalWarnings;
+    private Long totalAnomalies;
+    private Long totalWarnings;
     private Double totalDelayHours;
     private String originalDeadline;
     private Double overallEfficiency;
@@ -25,9 +25,10 @@ public class DashboardResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
+    @EqualsAndHashCode
     public static class AnomalyData {
         private String process;
-        private Integer count;
+        private Long count;
         private Double avgDelayPerIssue;
     }
 
@@ -36,6 +37,7 @@ public class DashboardResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
+    @EqualsAndHashCode
     public static class HistoryData {
         private String 날짜;
         private Double 지연시간;
@@ -46,10 +48,11 @@ public class DashboardResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
+    @EqualsAndHashCode
     public static class ProcessStat {
         private String name;
-        private Integer 정상;
-        private Integer 경고;
-        private Integer 이상;
+        private Long 정상;
+        private Long 경고;
+        private Long 이상;
     }
 }
@@ -0,0 +1,27 @@
+package com.example.automobile_risk.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DelaySeriesResponse {
+    private String resolution; // RAW, HOURLY or DAILY
+    private Integer sourcePoints;
+    private List<Point> points;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+        private LocalDateTime timestamp;
+        private Double value;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.automobile_risk.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryRiskResponse {
+    private Integer trials;
+    private Double expectedDelayHours;
+    private Long elapsedMs;
+    private List<OrderRisk> orders;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OrderRisk {
+        private String orderId;
+        private LocalDateTime plannedCompletion;
+        private LocalDateTime deadline;
+        private LocalDateTime p50;
+        private LocalDateTime p90;
+        private LocalDateTime p99;
+        private Double missProbability;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.automobile_risk.dto;
+
+import com.example.automobile_risk.entity.TelemetrySignal;
+import com.example.automobile_risk.service.AnomalyDetector;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DetectorStateResponse {
+    private List<ProcessState> processes;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ProcessState {
+        private String plant;
+        private String line;
+        private String process;
+        private List<SignalState> signals;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SignalState {
+        private TelemetrySignal signal;
+        private Long samples;
+        private Double mean;
+        private Double stdDev;
+        private Double ewma;
+        private Double lastValue;
+        private Double lastZScore;
+        private AnomalyDetector.Level level;
+    }
+}
@@ -9,5 +9,6 @@ import lombok.*;
 @Builder
 public class LoginResponse {
     private String token;
+    private String refreshToken;
     private String username;
 }
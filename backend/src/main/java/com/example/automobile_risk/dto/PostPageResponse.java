@@ -0,0 +1,15 @@
+package com.example.automobile_risk.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostPageResponse {
+    private List<PostSummary> items;
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,37 @@
+package com.example.automobile_risk.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSearchResponse {
+    private List<Hit> hits;
+    private Integer total;
+    private Integer page;
+    private Integer size;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Hit {
+        private Long id;
+        private String title; // matched terms wrapped in <mark>, HTML-escaped
+        private String snippet;
+        private Double score;
+
+        @JsonProperty("author_name")
+        private String authorName;
+
+        @JsonProperty("created_at")
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.automobile_risk.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Board list row without the post body.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSummary {
+    private Long id;
+    private String title;
+
+    @JsonProperty("author_id")
+    private Long authorId;
+
+    @JsonProperty("author_name")
+    private String authorName;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,43 @@
+package com.example.automobile_risk.dto;
+
+import com.example.automobile_risk.entity.TelemetrySignal;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TelemetryBatchRequest {
+    @NotEmpty
+    @Size(max = 50_000)
+    private List<@Valid @NotNull Reading> readings;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Reading {
+        @Size(max = 32)
+        private String plant; // defaults to the default plant
+        @Size(max = 32)
+        private String line; // defaults to the default line
+        @NotBlank
+        @Size(max = 255)
+        private String processName;
+        @NotNull
+        private TelemetrySignal signal;
+        @NotNull
+        private Double value;
+        private LocalDateTime recordedAt; // defaults to the time of ingestion
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.automobile_risk.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TelemetryIngestResponse {
+    private Integer accepted;
+}
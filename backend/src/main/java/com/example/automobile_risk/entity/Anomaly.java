@@ -1,13 +1,26 @@
 package com.example.automobile_risk.entity;
 
+import com.example.automobile_risk.service.DashboardEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CacheLayout;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.QueryCacheLayout;
 
 @Entity
-@Table(name = "anomalies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "anomalies")
+// Cached query results keep the row data, so a result larger than the entity region does not turn into id lookups
+@QueryCacheLayout(layout = CacheLayout.FULL)
+@EntityListeners(DashboardEntityListener.class)
+@Table(name = "anomalies", indexes = {
+        @Index(name = "idx_anomalies_plant_line_type", columnList = "plant, line, type, process_name")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,8 +30,18 @@ public class Anomaly {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_PLANT + "'")
+    @Column(nullable = false, length = 32)
+    private String plant = PlantLine.DEFAULT_PLANT;
+
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_LINE + "'")
+    @Column(nullable = false, length = 32)
+    private String line = PlantLine.DEFAULT_LINE;
+
     private String processName;
-    private Integer count;
+    private Long count;
     private Double avgDelay;
     private String type; // 'anomaly' or 'warning'
 }
@@ -6,6 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Legacy string-dated history; rows are moved into {@link DelaySample} on startup.
+ */
 @Entity
 @Table(name = "dashboard_history")
 @Data
@@ -0,0 +1,64 @@
+package com.example.automobile_risk.entity;
+
+import com.example.automobile_risk.service.DashboardEntityListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate of the delay samples that fall into one hourly or daily bucket.
+ */
+@Entity
+@EntityListeners(DashboardEntityListener.class)
+@Table(name = "delay_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_delay_rollups_plant_line_bucket",
+                columnNames = { "plant", "line", "resolution", "bucket_start" })
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DelayRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delay_rollup_seq")
+    @SequenceGenerator(name = "delay_rollup_seq", sequenceName = "delay_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_PLANT + "'")
+    @Column(nullable = false, length = 32)
+    private String plant = PlantLine.DEFAULT_PLANT;
+
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_LINE + "'")
+    @Column(nullable = false, length = 32)
+    private String line = PlantLine.DEFAULT_LINE;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private RollupResolution resolution;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    private Long sampleCount;
+    private Double sumDelay;
+    private Double minDelay;
+    private Double maxDelay;
+
+    public void add(double delayHours) {
+        sampleCount = sampleCount == null ? 1 : sampleCount + 1;
+        sumDelay = sumDelay == null ? delayHours : sumDelay + delayHours;
+        minDelay = minDelay == null ? delayHours : Math.min(minDelay, delayHours);
+        maxDelay = maxDelay == null ? delayHours : Math.max(maxDelay, delayHours);
+    }
+
+    public double average() {
+        return sampleCount == null || sampleCount == 0 ? 0 : sumDelay / sampleCount;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.automobile_risk.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "delay_samples", indexes = {
+        @Index(name = "idx_delay_samples_recorded_at", columnList = "recorded_at"),
+        @Index(name = "idx_delay_samples_plant_line_recorded_at", columnList = "plant, line, recorded_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DelaySample {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delay_sample_seq")
+    @SequenceGenerator(name = "delay_sample_seq", sequenceName = "delay_samples_seq", allocationSize = 500)
+    private Long id;
+
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_PLANT + "'")
+    @Column(nullable = false, length = 32)
+    private String plant = PlantLine.DEFAULT_PLANT;
+
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_LINE + "'")
+    @Column(nullable = false, length = 32)
+    private String line = PlantLine.DEFAULT_LINE;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(nullable = false)
+    private Double delayHours;
+}
@@ -0,0 +1,29 @@
+package com.example.automobile_risk.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Journal offset up to which records are in the database. Written in the same transaction as the
+ * records it covers, so a replay after a crash neither skips nor repeats any of them.
+ */
+@Entity
+@Table(name = "journal_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalCheckpoint {
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private Long appliedOffset;
+}
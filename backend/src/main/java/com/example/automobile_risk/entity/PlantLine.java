@@ -0,0 +1,22 @@
+package com.example.automobile_risk.entity;
+
+/**
+ * Partition key for process, anomaly and history data: one production line within a plant.
+ * Rows written without an explicit plant and line belong to {@link #DEFAULT}.
+ */
+public record PlantLine(String plant, String line) {
+
+    public static final String DEFAULT_PLANT = "P1";
+    public static final String DEFAULT_LINE = "L1";
+    public static final PlantLine DEFAULT = new PlantLine(DEFAULT_PLANT, DEFAULT_LINE);
+
+    public static PlantLine of(String plant, String line) {
+        return new PlantLine(plant == null || plant.isBlank() ? DEFAULT_PLANT : plant.trim(),
+                line == null || line.isBlank() ? DEFAULT_LINE : line.trim());
+    }
+
+    @Override
+    public String toString() {
+        return plant + "/" + line;
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.automobile_risk.entity;
 
+import com.example.automobile_risk.service.DashboardEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "processes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "processes")
+@EntityListeners(DashboardEntityListener.class)
+@Table(name = "processes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_processes_plant_line_name", columnNames = { "plant", "line", "name" })
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,12 +26,22 @@ public class ProcessEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_PLANT + "'")
+    @Column(nullable = false, length = 32)
+    private String plant = PlantLine.DEFAULT_PLANT;
+
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_LINE + "'")
+    @Column(nullable = false, length = 32)
+    private String line = PlantLine.DEFAULT_LINE;
+
+    @Column(nullable = false)
     private String name;
 
     private Double efficiency;
     private String status;
-    private Integer normalCount;
-    private Integer warningCount;
-    private Integer anomalyCount;
+    private Long normalCount;
+    private Long warningCount;
+    private Long anomalyCount;
 }
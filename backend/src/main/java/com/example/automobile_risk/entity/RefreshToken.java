@@ -0,0 +1,50 @@
+package com.example.automobile_risk.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Long-lived token used to renew access tokens without a password check. Only the SHA-256 digest
+ * of the token is stored.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_username", columnList = "username")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+    public enum RevokedReason {
+        /** Exchanged for a new token; presenting it again means it was copied. */
+        ROTATED,
+        LOGGED_OUT,
+        /** Revoked with the rest of the user's tokens after a rotated token was reused. */
+        REUSE_DETECTED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private boolean revoked;
+
+    // Null on rows revoked before the reason was recorded
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private RevokedReason revokedReason;
+
+    private LocalDateTime createdAt;
+}
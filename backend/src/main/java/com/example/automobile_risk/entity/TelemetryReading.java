@@ -0,0 +1,50 @@
+package com.example.automobile_risk.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "telemetry_readings", indexes = {
+        @Index(name = "idx_telemetry_plant_line_process_recorded_at",
+                columnList = "plant, line, process_name, recorded_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryReading {
+    // Pooled sequence instead of IDENTITY so Hibernate can batch the inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "telemetry_reading_seq")
+    @SequenceGenerator(name = "telemetry_reading_seq", sequenceName = "telemetry_readings_seq", allocationSize = 500)
+    private Long id;
+
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_PLANT + "'")
+    @Column(nullable = false, length = 32)
+    private String plant = PlantLine.DEFAULT_PLANT;
+
+    @Builder.Default
+    @ColumnDefault("'" + PlantLine.DEFAULT_LINE + "'")
+    @Column(nullable = false, length = 32)
+    private String line = PlantLine.DEFAULT_LINE;
+
+    @Column(nullable = false)
+    private String processName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TelemetrySignal signal;
+
+    @Column(name = "reading_value", nullable = false) // VALUE is a reserved word in H2
+    private Double value;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+}
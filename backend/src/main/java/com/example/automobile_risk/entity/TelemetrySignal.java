@@ -0,0 +1,17 @@
+package com.example.automobile_risk.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public enum TelemetrySignal {
+    PRESSURE, TEMPERATURE, VIBRATION;
+
+    @JsonCreator
+    public static TelemetrySignal from(String value) {
+        for (TelemetrySignal signal : values()) {
+            if (signal.name().equalsIgnoreCase(value)) {
+                return signal;
+            }
+        }
+        throw new IllegalArgumentException("Unknown telemetry signal: " + value);
+    }
+}
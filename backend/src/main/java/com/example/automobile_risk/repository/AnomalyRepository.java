@@ -1,9 +1,45 @@
 package com.example.automobile_risk.repository;
 
 import com.example.automobile_risk.entity.Anomaly;
+import com.example.automobile_risk.entity.PlantLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AnomalyRepository extends JpaRepository<Anomaly, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "anomaly-queries")
+    })
     List<Anomaly> findByType(String type);
+
+    Optional<Anomaly> findFirstByPlantAndLineAndProcessNameAndTypeOrderByIdAsc(String plant, String line,
+            String processName, String type);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "anomaly-queries")
+    })
+    @Query("select a.type as type, a.processName as processName, sum(a.count) as totalCount, "
+            + "sum(a.count * a.avgDelay) as totalDelay "
+            + "from Anomaly a where a.plant = :plant and a.line = :line "
+            + "group by a.type, a.processName order by min(a.id)")
+    List<AnomalyTotal> sumByTypeAndProcessName(String plant, String line);
+
+    @Query("select distinct new com.example.automobile_risk.entity.PlantLine(a.plant, a.line) from Anomaly a")
+    List<PlantLine> findPartitions();
+
+    // Forward-only scan for exports: rows are fetched in chunks and bypass the second-level cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select a from Anomaly a order by a.id")
+    Stream<Anomaly> streamAll();
 }
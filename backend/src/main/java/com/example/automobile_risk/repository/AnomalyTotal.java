@@ -0,0 +1,14 @@
+package com.example.automobile_risk.repository;
+
+/**
+ * Aggregate of anomaly rows for one (type, processName) group.
+ */
+public interface AnomalyTotal {
+    String getType();
+
+    String getProcessName();
+
+    Long getTotalCount();
+
+    Double getTotalDelay();
+}
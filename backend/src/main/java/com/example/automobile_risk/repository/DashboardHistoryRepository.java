@@ -1,9 +1,17 @@
 package com.example.automobile_risk.repository;
 
 import com.example.automobile_risk.entity.DashboardHistory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface DashboardHistoryRepository extends JpaRepository<DashboardHistory, Long> {
     List<DashboardHistory> findAllByOrderByIdAsc();
+
+    // Locked so that instances starting together cannot both migrate the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from DashboardHistory h order by h.id")
+    List<DashboardHistory> findAllForMigration();
 }
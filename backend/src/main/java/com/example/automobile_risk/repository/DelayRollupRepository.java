@@ -0,0 +1,22 @@
+package com.example.automobile_risk.repository;
+
+import com.example.automobile_risk.entity.DelayRollup;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.RollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface DelayRollupRepository extends JpaRepository<DelayRollup, Long> {
+    Optional<DelayRollup> findByPlantAndLineAndResolutionAndBucketStart(String plant, String line,
+            RollupResolution resolution, LocalDateTime bucketStart);
+
+    List<DelayRollup> findByPlantAndLineAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(String plant,
+            String line, RollupResolution resolution, LocalDateTime from, LocalDateTime to);
+
+    @Query("select distinct new com.example.automobile_risk.entity.PlantLine(r.plant, r.line) from DelayRollup r")
+    List<PlantLine> findPartitions();
+}
@@ -0,0 +1,22 @@
+package com.example.automobile_risk.repository;
+
+import com.example.automobile_risk.entity.DelaySample;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface DelaySampleRepository extends JpaRepository<DelaySample, Long> {
+    List<DelaySample> findByPlantAndLineAndRecordedAtBetweenOrderByRecordedAtAsc(String plant, String line,
+            LocalDateTime from, LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<DelaySample> streamByRecordedAtBetweenOrderByRecordedAtAsc(LocalDateTime from, LocalDateTime to);
+}
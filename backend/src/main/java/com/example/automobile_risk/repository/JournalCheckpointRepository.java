@@ -0,0 +1,7 @@
+package com.example.automobile_risk.repository;
+
+import com.example.automobile_risk.entity.JournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, String> {
+}
@@ -1,9 +1,32 @@
 package com.example.automobile_risk.repository;
 
+import com.example.automobile_risk.dto.PostSummary;
 import com.example.automobile_risk.entity.Post;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findAllByOrderByCreatedAtDesc();
+
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select new com.example.automobile_risk.dto.PostSummary(p.id, p.title, p.authorId, p.authorName, p.createdAt) "
+            + "from Post p where p.createdAt is not null order by p.createdAt desc, p.id desc")
+    List<PostSummary> findSummaries(Limit limit);
+
+    // Keyset on (createdAt, id), backed by idx_posts_created_at_id
+    @Query("select new com.example.automobile_risk.dto.PostSummary(p.id, p.title, p.authorId, p.authorName, p.createdAt) "
+            + "from Post p where (p.createdAt, p.id) < (:createdAt, :id) order by p.createdAt desc, p.id desc")
+    List<PostSummary> findSummariesBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Limit limit);
+
+    // Posts without a timestamp sort after all dated ones, newest id first
+    @Query("select new com.example.automobile_risk.dto.PostSummary(p.id, p.title, p.authorId, p.authorName, p.createdAt) "
+            + "from Post p where p.createdAt is null and p.id < :id order by p.id desc")
+    List<PostSummary> findUndatedSummariesBefore(@Param("id") Long id, Limit limit);
 }
@@ -1,9 +1,30 @@
 package com.example.automobile_risk.repository;
 
+import com.example.automobile_risk.entity.PlantLine;
 import com.example.automobile_risk.entity.ProcessEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProcessRepository extends JpaRepository<ProcessEntity, Long> {
-    Optional<ProcessEntity> findByName(String name);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "process-queries")
+    })
+    Optional<ProcessEntity> findByPlantAndLineAndName(String plant, String line, String name);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "process-queries")
+    })
+    List<ProcessEntity> findByPlantAndLineOrderByIdAsc(String plant, String line);
+
+    Optional<ProcessEntity> findFirstByNameOrderByIdAsc(String name);
+
+    @Query("select distinct new com.example.automobile_risk.entity.PlantLine(p.plant, p.line) from ProcessEntity p")
+    List<PlantLine> findPartitions();
 }
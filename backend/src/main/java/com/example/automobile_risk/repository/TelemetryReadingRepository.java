@@ -0,0 +1,7 @@
+package com.example.automobile_risk.repository;
+
+import com.example.automobile_risk.entity.TelemetryReading;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TelemetryReadingRepository extends JpaRepository<TelemetryReading, Long> {
+}
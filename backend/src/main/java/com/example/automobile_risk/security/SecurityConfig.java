@@ -54,6 +54,7 @@ public class SecurityConfig {
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/board/**").permitAll()
                         .requestMatchers("/api/v1/dashboard/**").permitAll() // Dashboard is public as per current FE
                         .requestMatchers("/api/v1/chatbot/**").permitAll() // Chatbot is public
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Probes and scraper
                         .anyRequest().authenticated());
 
         http.authenticationProvider(authenticationProvider());
@@ -0,0 +1,99 @@
+package com.example.automobile_risk.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already verified tokens, keyed by the SHA-256 digest of the token so raw
+ * tokens are never kept in memory. An entry never outlives its token and is capped at
+ * {@code app.jwt.cache.max-ttl-ms}, which bounds how long a deleted user stays authenticated.
+ */
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.jwt.cache.max-ttl-ms:300000}")
+    private long maxTtlMs;
+
+    private Cache<String, Entry> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    public String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public UserDetails get(String tokenDigest) {
+        Entry entry = cache.getIfPresent(tokenDigest);
+        return entry == null ? null : entry.principal;
+    }
+
+    public void put(String tokenDigest, UserDetails userDetails, Date expiration) {
+        long ttlMs = Math.min(maxTtlMs, expiration.getTime() - System.currentTimeMillis());
+        if (ttlMs <= 0) {
+            return;
+        }
+        // Keep the principal without its password hash
+        UserDetails principal = new User(userDetails.getUsername(), "", userDetails.isEnabled(),
+                userDetails.isAccountNonExpired(), userDetails.isCredentialsNonExpired(),
+                userDetails.isAccountNonLocked(), userDetails.getAuthorities());
+        cache.put(tokenDigest, new Entry(principal, TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record Entry(UserDetails principal, long ttlNanos) {
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.DetectorStateResponse;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.TelemetrySignal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streaming detector over live telemetry. Keeps a fixed-size ring buffer per plant line, process and signal
+ * with running sum/sum of squares and an EWMA, scores each reading by its z-score against the
+ * window and records the outcome in {@link ProcessCounters} until {@link DetectorFlushService}
+ * writes it out.
+ * Classifying a reading does not allocate once the process has been seen. State is only kept for
+ * processes that {@link TelemetryService} resolved against the process table, so callers cannot
+ * grow it with made-up names.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnomalyDetector {
+
+    public enum Level {
+        NORMAL, WARNING, ANOMALY
+    }
+
+    private static final TelemetrySignal[] SIGNALS = TelemetrySignal.values();
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private final ProcessCounters processCounters;
+
+    @Value("${app.detector.window-size:120}")
+    private int windowSize;
+
+    @Value("${app.detector.min-samples:30}")
+    private int minSamples;
+
+    @Value("${app.detector.ewma-alpha:0.1}")
+    private double ewmaAlpha;
+
+    @Value("${app.detector.warning-z:2.0}")
+    private double warningZ;
+
+    @Value("${app.detector.anomaly-z:3.0}")
+    private double anomalyZ;
+
+    private final ConcurrentHashMap<PlantLine, ConcurrentHashMap<String, ProcessState>> partitions =
+            new ConcurrentHashMap<>();
+
+    public Level accept(PlantLine partition, String processName, TelemetrySignal signal, double value,
+            long epochMillis) {
+        ProcessState state = stateOf(partition, processName);
+        state.lock.lock();
+        try {
+            SignalWindow window = state.windows[signal.ordinal()];
+            Level level = window.classify(value);
+            window.add(value);
+            state.record(window, level, epochMillis);
+            return level;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    public DetectorStateResponse getState() {
+        List<DetectorStateResponse.ProcessState> result = new ArrayList<>();
+        for (ProcessState state : allStates()) {
+            List<DetectorStateResponse.SignalState> signals = new ArrayList<>(SIGNALS.length);
+            state.lock.lock();
+            try {
+                for (TelemetrySignal signal : SIGNALS) {
+                    SignalWindow window = state.windows[signal.ordinal()];
+                    if (window.total == 0) {
+                        continue;
+                    }
+                    signals.add(DetectorStateResponse.SignalState.builder()
+                            .signal(signal)
+                            .samples(window.total)
+                            .mean(window.mean())
+                            .stdDev(Math.sqrt(window.variance()))
+                            .ewma(window.ewma)
+                            .lastValue(window.lastValue)
+                            .lastZScore(window.lastZ)
+                            .level(window.episodeLevel)
+                            .build());
+                }
+            } finally {
+                state.lock.unlock();
+            }
+            result.add(DetectorStateResponse.ProcessState.builder()
+                    .plant(state.partition.plant())
+                    .line(state.partition.line())
+                    .process(state.processName)
+                    .signals(signals)
+                    .build());
+        }
+        return DetectorStateResponse.builder().processes(result).build();
+    }
+
+    /**
+     * Copies the state of the given processes, so that a caller whose readings did not commit can
+     * undo what they did to the windows and episodes before the readings are replayed.
+     */
+    public Snapshot snapshot(Map<PlantLine, Set<String>> processes) {
+        List<ProcessState> states = new ArrayList<>();
+        List<SignalWindow[]> copies = new ArrayList<>();
+        processes.forEach((partition, names) -> {
+            for (String name : names) {
+                ProcessState state = stateOf(partition, name);
+                SignalWindow[] copy = new SignalWindow[SIGNALS.length];
+                state.lock.lock();
+                try {
+                    for (int i = 0; i < copy.length; i++) {
+                        copy[i] = new SignalWindow(windowSize);
+                        copy[i].copyFrom(state.windows[i]);
+                    }
+                } finally {
+                    state.lock.unlock();
+                }
+                states.add(state);
+                copies.add(copy);
+            }
+        });
+        return new Snapshot(states, copies);
+    }
+
+    public final class Snapshot {
+        private final List<ProcessState> states;
+        private final List<SignalWindow[]> copies;
+
+        private Snapshot(List<ProcessState> states, List<SignalWindow[]> copies) {
+            this.states = states;
+            this.copies = copies;
+        }
+
+        public void restore() {
+            for (int i = 0; i < states.size(); i++) {
+                ProcessState state = states.get(i);
+                SignalWindow[] copy = copies.get(i);
+                state.lock.lock();
+                try {
+                    for (int j = 0; j < copy.length; j++) {
+                        state.windows[j].copyFrom(copy[j]);
+                    }
+                } finally {
+                    state.lock.unlock();
+                }
+            }
+        }
+    }
+
+    private ProcessState stateOf(PlantLine partition, String processName) {
+        return partitions.computeIfAbsent(partition, p -> new ConcurrentHashMap<>())
+                .computeIfAbsent(processName, name -> new ProcessState(partition, name, windowSize));
+    }
+
+    private List<ProcessState> allStates() {
+        List<ProcessState> states = new ArrayList<>();
+        partitions.values().forEach(processes -> states.addAll(processes.values()));
+        return states;
+    }
+
+    private final class ProcessState {
+        private final PlantLine partition;
+        private final String processName;
+        private final SignalWindow[] windows = new SignalWindow[SIGNALS.length];
+        private final ProcessCounters.Counter counter;
+        // Not synchronized, which would pin the virtual thread of the request that holds it
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private ProcessState(PlantLine partition, String processName, int windowSize) {
+            this.partition = partition;
+            this.processName = processName;
+            this.counter = processCounters.counter(partition, processName);
+            for (int i = 0; i < windows.length; i++) {
+                windows[i] = new SignalWindow(windowSize);
+            }
+        }
+
+        private void record(SignalWindow window, Level level, long epochMillis) {
+            switch (level) {
+                case NORMAL -> counter.normal();
+                case WARNING -> counter.warning();
+                case ANOMALY -> counter.anomaly();
+            }
+
+            // Consecutive out-of-band readings form one episode; its length is the delay it caused
+            if (level != Level.NORMAL) {
+                if (window.episodeLevel == Level.NORMAL) {
+                    window.episodeStart = epochMillis;
+                }
+                if (level.compareTo(window.episodeLevel) > 0) {
+                    window.episodeLevel = level;
+                }
+            } else if (window.episodeLevel != Level.NORMAL) {
+                double hours = Math.max(0, epochMillis - window.episodeStart) / MILLIS_PER_HOUR;
+                if (window.episodeLevel == Level.ANOMALY) {
+                    counter.anomalyEpisode(hours);
+                } else {
+                    counter.warningEpisode(hours);
+                }
+                window.episodeLevel = Level.NORMAL;
+            }
+        }
+    }
+
+    private final class SignalWindow {
+        private final double[] values;
+        private int position;
+        private int size;
+        private long total;
+        private double sum;
+        private double sumOfSquares;
+        private double ewma;
+        private double lastValue;
+        private double lastZ;
+        private Level episodeLevel = Level.NORMAL;
+        private long episodeStart;
+
+        private SignalWindow(int capacity) {
+            this.values = new double[capacity];
+        }
+
+        private void copyFrom(SignalWindow other) {
+            System.arraycopy(other.values, 0, values, 0, values.length);
+            position = other.position;
+            size = other.size;
+            total = other.total;
+            sum = other.sum;
+            sumOfSquares = other.sumOfSquares;
+            ewma = other.ewma;
+            lastValue = other.lastValue;
+            lastZ = other.lastZ;
+            episodeLevel = other.episodeLevel;
+            episodeStart = other.episodeStart;
+        }
+
+        /** Scores the reading against the window as it was before the reading arrived. */
+        private Level classify(double value) {
+            if (size < minSamples) {
+                lastZ = 0;
+                return Level.NORMAL;
+            }
+            double stdDev = Math.sqrt(variance());
+            lastZ = stdDev == 0 ? 0 : (value - mean()) / stdDev;
+            double absZ = Math.abs(lastZ);
+            if (absZ >= anomalyZ) {
+                return Level.ANOMALY;
+            }
+            return absZ >= warningZ ? Level.WARNING : Level.NORMAL;
+        }
+
+        private void add(double value) {
+            if (size == values.length) {
+                double evicted = values[position];
+                sum -= evicted;
+                sumOfSquares -= evicted * evicted;
+            } else {
+                size++;
+            }
+            values[position] = value;
+            sum += value;
+            sumOfSquares += value * value;
+            position = (position + 1) % values.length;
+            if (position == 0) {
+                recomputeSums();
+            }
+
+            ewma = total == 0 ? value : ewmaAlpha * value + (1 - ewmaAlpha) * ewma;
+            lastValue = value;
+            total++;
+        }
+
+        // Running sums drift with floating point error, so resync them once per lap of the ring
+        private void recomputeSums() {
+            double s = 0;
+            double sq = 0;
+            for (int i = 0; i < size; i++) {
+                s += values[i];
+                sq += values[i] * values[i];
+            }
+            sum = s;
+            sumOfSquares = sq;
+        }
+
+        private double mean() {
+            return size == 0 ? 0 : sum / size;
+        }
+
+        private double variance() {
+            if (size < 2) {
+                return 0;
+            }
+            double mean = sum / size;
+            return Math.max(0, (sumOfSquares - size * mean * mean) / (size - 1));
+        }
+    }
+}
@@ -5,13 +5,17 @@ import com.example.automobile_risk.dto.LoginResponse;
 import com.example.automobile_risk.entity.User;
 import com.example.automobile_risk.repository.UserRepository;
 import com.example.automobile_risk.security.JwtUtils;
+import com.example.automobile_risk.security.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 
@@ -23,6 +27,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
 
     public void register(LoginRequest request) {
         if (userRepository.findByUsername(request.getUsername()).isPresent()) {
@@ -31,7 +37,7 @@ public class AuthService {
 
         User user = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingExecutor.call(() -> passwordEncoder.encode(request.getPassword())))
                 .startDate(LocalDateTime.now())
                 .build();
 
@@ -39,15 +45,40 @@ public class AuthService {
     }
 
     public LoginResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+        // BCrypt runs on the bounded hashing pool, not on the request thread
+        Authentication authentication = passwordHashingExecutor.call(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
 
         return LoginResponse.builder()
                 .token(jwt)
+                .refreshToken(refreshTokenService.issue(request.getUsername()))
                 .username(request.getUsername())
                 .build();
     }
+
+    /**
+     * Renews the token pair without a password check; the presented refresh token is used up. The
+     * old token is only used up if the new one is issued, while a rejection (such as a revoked
+     * chain) still commits.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public LoginResponse refresh(String refreshToken) {
+        String username = refreshTokenService.consume(refreshToken);
+        if (userRepository.findByUsername(username).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User no longer exists");
+        }
+
+        return LoginResponse.builder()
+                .token(jwtUtils.generateJwtToken(username))
+                .refreshToken(refreshTokenService.issue(username))
+                .username(username)
+                .build();
+    }
+
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
 }
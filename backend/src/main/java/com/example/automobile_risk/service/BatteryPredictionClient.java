@@ -0,0 +1,273 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.BatteryPredictionRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client for the ml-service battery predictor. Single predictions are queued and a dispatcher
+ * thread groups whatever arrives within {@code max-wait-ms} (up to {@code max-batch}) into one
+ * {@code POST /predict/batch} call. A semaphore bounds the batches in flight, and after
+ * {@code breaker-failure-threshold} consecutive failures the circuit opens and callers fail fast
+ * until a trial batch succeeds. Items are answered one by one: a record the service or the
+ * serializer rejects fails only its own caller and does not count against the breaker.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatteryPredictionClient {
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Value("${app.ml.base-url:http://localhost:8000}")
+    private String baseUrl;
+
+    @Value("${app.ml.max-batch:64}")
+    private int maxBatch;
+
+    @Value("${app.ml.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${app.ml.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${app.ml.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.ml.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.ml.request-timeout-ms:3000}")
+    private long requestTimeoutMs;
+
+    @Value("${app.ml.breaker-failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${app.ml.breaker-open-ms:10000}")
+    private long breakerOpenMs;
+
+    private record Pending(BatteryPredictionRequest request, CompletableFuture<String> result) {
+    }
+
+    private BlockingQueue<Pending> queue;
+    private Semaphore inFlight;
+    private HttpClient httpClient;
+    private ExecutorService executor;
+    private Thread dispatcher;
+    private URI batchUri;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openUntilMillis;
+    private volatile boolean trialInFlight;
+
+    @PostConstruct
+    void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        inFlight = new Semaphore(maxInFlight);
+        batchUri = URI.create(baseUrl.replaceAll("/+$", "") + "/predict/batch");
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        // One client for the application so connections are pooled; HTTP/2 is used when the server supports it
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+        dispatcher = Thread.ofPlatform().daemon().name("battery-prediction-dispatcher").start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.interrupt();
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(p -> p.result().completeExceptionally(unavailable("Prediction client is shutting down")));
+        executor.shutdownNow();
+    }
+
+    public CompletableFuture<String> predict(BatteryPredictionRequest request) {
+        if (isOpen()) {
+            return CompletableFuture.failedFuture(unavailable("Prediction service circuit is open"));
+        }
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            return CompletableFuture.failedFuture(unavailable("Too many pending predictions"));
+        }
+        return pending.result();
+    }
+
+    private boolean isOpen() {
+        return consecutiveFailures.get() >= breakerFailureThreshold
+                && (clock.millis() < openUntilMillis || trialInFlight);
+    }
+
+    private void dispatchLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                // Blocks the dispatcher while all slots are busy, so the queue absorbs the backlog
+                inFlight.acquire();
+                send(List.copyOf(batch));
+                batch.clear();
+            } catch (InterruptedException e) {
+                batch.forEach(p -> p.result().completeExceptionally(unavailable("Prediction client is shutting down")));
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        boolean trial = false;
+        if (consecutiveFailures.get() >= breakerFailureThreshold) {
+            if (clock.millis() < openUntilMillis || trialInFlight) {
+                inFlight.release();
+                batch.forEach(p -> p.result().completeExceptionally(unavailable("Prediction service circuit is open")));
+                return;
+            }
+            trial = true;
+            trialInFlight = true;
+        }
+
+        // Items that cannot be serialized fail on their own and are left out of the call
+        ArrayNode items = objectMapper.createArrayNode();
+        List<Pending> sent = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            try {
+                items.add(objectMapper.valueToTree(pending.request()));
+                sent.add(pending);
+            } catch (IllegalArgumentException e) {
+                pending.result().completeExceptionally(rejected("Prediction request could not be serialized"));
+            }
+        }
+
+        HttpRequest request = null;
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(objectMapper.createObjectNode().set("items", items));
+            request = HttpRequest.newBuilder(batchUri)
+                    .timeout(Duration.ofMillis(requestTimeoutMs))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        } catch (IOException e) {
+            sent.forEach(p -> p.result().completeExceptionally(e));
+            sent.clear();
+        }
+        if (sent.isEmpty()) {
+            inFlight.release();
+            if (trial) {
+                trialInFlight = false;
+            }
+            return;
+        }
+
+        boolean trialBatch = trial;
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    inFlight.release();
+                    try {
+                        JsonNode results = error == null ? parse(response, sent.size()) : null;
+                        if (results == null) {
+                            recordFailure(error != null ? error.toString() : "HTTP " + response.statusCode());
+                            sent.forEach(p -> p.result().completeExceptionally(
+                                    new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Prediction service failed")));
+                            return;
+                        }
+                        // The service answered, so rejected items are the callers' problem, not a breaker failure
+                        consecutiveFailures.set(0);
+                        JsonNode predictions = results.path("predictions");
+                        JsonNode errors = results.path("errors");
+                        for (int i = 0; i < sent.size(); i++) {
+                            JsonNode prediction = predictions.get(i);
+                            if (prediction.isTextual()) {
+                                sent.get(i).result().complete(prediction.asText());
+                            } else {
+                                String reason = errors.path(i).asText("");
+                                sent.get(i).result().completeExceptionally(rejected(
+                                        reason.isEmpty() ? "Prediction failed" : "Prediction failed: " + reason));
+                            }
+                        }
+                    } finally {
+                        if (trialBatch) {
+                            trialInFlight = false;
+                        }
+                    }
+                });
+    }
+
+    /**
+     * The response body when it carries one prediction slot per item, otherwise {@code null}. A
+     * slot is a label, or {@code null} with the reason at the same index of {@code errors}.
+     */
+    private JsonNode parse(HttpResponse<byte[]> response, int expected) {
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            JsonNode results = objectMapper.readTree(response.body());
+            JsonNode predictions = results.path("predictions");
+            if (!predictions.isArray() || predictions.size() != expected) {
+                return null;
+            }
+            return results;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void recordFailure(String reason) {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (failures >= breakerFailureThreshold) {
+            openUntilMillis = clock.millis() + breakerOpenMs;
+            log.warn("Battery prediction circuit open for {} ms after {} failures: {}", breakerOpenMs, failures, reason);
+        }
+    }
+
+    private static ResponseStatusException rejected(String reason) {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, reason);
+    }
+
+    private static ResponseStatusException unavailable(String reason) {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, reason);
+    }
+}
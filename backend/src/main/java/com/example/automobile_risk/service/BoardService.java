@@ -1,10 +1,20 @@
 package com.example.automobile_risk.service;
 
+import com.example.automobile_risk.dto.PostPageResponse;
+import com.example.automobile_risk.dto.PostSummary;
 import com.example.automobile_risk.entity.Post;
 import com.example.automobile_risk.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,14 +22,51 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class BoardService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PostRepository postRepository;
+    private final PostSearchService postSearchService;
 
     public List<Post> getAllPosts() {
         return postRepository.findAllByOrderByCreatedAtDesc();
     }
 
+    /**
+     * Newest posts first. Posts without a timestamp come after all dated ones, ordered by id, so
+     * every post is listed exactly once whichever order the database gives nulls.
+     */
+    public PostPageResponse getPostPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page follows
+        int wanted = pageSize + 1;
+
+        List<PostSummary> rows;
+        Cursor after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        if (after != null && after.createdAt() == null) {
+            rows = postRepository.findUndatedSummariesBefore(after.id(), Limit.of(wanted));
+        } else {
+            rows = after == null
+                    ? postRepository.findSummaries(Limit.of(wanted))
+                    : postRepository.findSummariesBefore(after.createdAt(), after.id(), Limit.of(wanted));
+            if (rows.size() < wanted) {
+                rows = new ArrayList<>(rows);
+                rows.addAll(postRepository.findUndatedSummariesBefore(Long.MAX_VALUE, Limit.of(wanted - rows.size())));
+            }
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<PostSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+        return PostPageResponse.builder().items(items).nextCursor(nextCursor).build();
+    }
+
     public Post createPost(Post post) {
-        return postRepository.save(post);
+        if (post.getCreatedAt() == null) {
+            post.setCreatedAt(LocalDateTime.now());
+        }
+        Post saved = postRepository.save(post);
+        postSearchService.onPostCreated(saved);
+        return saved;
     }
 
     public Optional<Post> getPostById(Long id) {
@@ -27,6 +74,30 @@ public class BoardService {
     }
 
     public void deletePost(Long id) {
-        postRepository.deleteById(id);
+        postRepository.findById(id).ifPresent(post -> {
+            postRepository.delete(post);
+            postSearchService.onPostDeleted(post);
+        });
+    }
+
+    private record Cursor(LocalDateTime createdAt, long id) {
+    }
+
+    // "<createdAt>|<id>", with an empty createdAt for posts that have none
+    private String encodeCursor(PostSummary last) {
+        String key = (last.getCreatedAt() == null ? "" : last.getCreatedAt().toString()) + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (key.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new Cursor(key[0].isEmpty() ? null : LocalDateTime.parse(key[0]), Long.parseLong(key[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
     }
 }
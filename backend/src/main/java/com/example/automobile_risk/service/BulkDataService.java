@@ -0,0 +1,498 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.Anomaly;
+import com.example.automobile_risk.entity.DelaySample;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.repository.AnomalyRepository;
+import com.example.automobile_risk.repository.DelaySampleRepository;
+import com.example.automobile_risk.service.DashboardChangeTracker.Section;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streaming export and batched import of anomaly and delay history data. Exports scan a JPA
+ * stream inside a read-only transaction and detach every row once written, so heap use does not
+ * grow with the table. Imports are all-or-nothing, write in JDBC batches and stop at
+ * {@code app.bulk.max-import-rows}.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkDataService {
+
+    private static final int IMPORT_BATCH = 1000;
+    private static final String[] PARTITION_COLUMNS = { "plant", "line" };
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    // Lets Excel detect UTF-8, which the Korean process names need
+    private static final String UTF8_BOM = "\uFEFF";
+
+    private final AnomalyRepository anomalyRepository;
+    private final DelaySampleRepository sampleRepository;
+    private final DelayHistoryService delayHistoryService;
+    private final DashboardChangeTracker changeTracker;
+    private final EntityManager entityManager;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.bulk.max-import-rows:10000000}")
+    private long maxImportRows;
+
+    public void exportAnomaliesCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(UTF8_BOM);
+        writer.write("id,plant,line,process_name,type,count,avg_delay\n");
+        scan(anomalyRepository::streamAll, a -> {
+            writer.write(Long.toString(a.getId()));
+            writer.write(',');
+            writer.write(csv(a.getPlant()));
+            writer.write(',');
+            writer.write(csv(a.getLine()));
+            writer.write(',');
+            writer.write(csv(a.getProcessName()));
+            writer.write(',');
+            writer.write(csv(a.getType()));
+            writer.write(',');
+            writer.write(a.getCount() == null ? "" : a.getCount().toString());
+            writer.write(',');
+            writer.write(a.getAvgDelay() == null ? "" : a.getAvgDelay().toString());
+            writer.write('\n');
+        });
+        writer.flush();
+    }
+
+    public void exportAnomaliesColumnar(OutputStream out) throws IOException {
+        ColumnarFormat.Writer writer = new ColumnarFormat.Writer(out, ColumnarFormat.Kind.ANOMALIES);
+        scan(anomalyRepository::streamAll, a -> writer.row(a.getId(), a.getPlant(), a.getLine(), a.getProcessName(),
+                a.getType(),
+                a.getCount() == null ? 0 : a.getCount(), a.getAvgDelay() == null ? 0.0 : a.getAvgDelay()));
+        writer.finish();
+    }
+
+    public void exportDelaySamplesCsv(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(UTF8_BOM);
+        writer.write("plant,line,recorded_at,delay_hours\n");
+        scan(() -> sampleRepository.streamByRecordedAtBetweenOrderByRecordedAtAsc(from, to), s -> {
+            writer.write(csv(s.getPlant()));
+            writer.write(',');
+            writer.write(csv(s.getLine()));
+            writer.write(',');
+            writer.write(s.getRecordedAt().toString());
+            writer.write(',');
+            writer.write(s.getDelayHours().toString());
+            writer.write('\n');
+        });
+        writer.flush();
+    }
+
+    public void exportDelaySamplesColumnar(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        ColumnarFormat.Writer writer = new ColumnarFormat.Writer(out, ColumnarFormat.Kind.DELAY_SAMPLES);
+        scan(() -> sampleRepository.streamByRecordedAtBetweenOrderByRecordedAtAsc(from, to),
+                s -> writer.row(s.getId(), s.getPlant(), s.getLine(),
+                        s.getRecordedAt().atZone(ZONE).toInstant().toEpochMilli(), s.getDelayHours()));
+        writer.finish();
+    }
+
+    /**
+     * Imports {@code process_name,type,count,avg_delay} rows (an {@code id} column is ignored).
+     * Optional {@code plant} and {@code line} columns default to the default plant line.
+     */
+    public int importAnomaliesCsv(InputStream in) {
+        return inTransaction(() -> {
+            List<Object[]> batch = new ArrayList<>(IMPORT_BATCH);
+            int[] imported = { 0 };
+            readCsv(in, maxImportRows, new String[] { "process_name", "type", "count", "avg_delay" }, (fields, line) -> {
+                batch.add(anomalyRow(partition(fields[4], fields[5], line), fields[0], fields[1],
+                        parseLong(fields[2], line), parseDouble(fields[3], line), line));
+                if (batch.size() == IMPORT_BATCH) {
+                    imported[0] += insertAnomalies(batch);
+                }
+            });
+            imported[0] += insertAnomalies(batch);
+            afterAnomalyImport();
+            return imported[0];
+        });
+    }
+
+    /**
+     * @param length the size of the upload in bytes, or {@code -1} when unknown
+     */
+    public int importAnomaliesColumnar(InputStream in, long length) {
+        return inTransaction(() -> {
+            List<Object[]> batch = new ArrayList<>(IMPORT_BATCH);
+            int[] imported = { 0 };
+            ColumnarFormat.read(in, length, ColumnarFormat.Kind.ANOMALIES, maxImportRows, row -> {
+                batch.add(anomalyRow(partition((String) row[1], (String) row[2], 0), (String) row[3], (String) row[4],
+                        (Long) row[5], (Double) row[6], 0));
+                if (batch.size() == IMPORT_BATCH) {
+                    imported[0] += insertAnomalies(batch);
+                }
+            });
+            imported[0] += insertAnomalies(batch);
+            afterAnomalyImport();
+            return imported[0];
+        });
+    }
+
+    /**
+     * Imports {@code recorded_at,delay_hours} rows into the delay sample store and its rollups.
+     * Optional {@code plant} and {@code line} columns default to the default plant line.
+     */
+    public int importDelaySamplesCsv(InputStream in) {
+        return inTransaction(() -> {
+            List<DelaySample> batch = new ArrayList<>(IMPORT_BATCH);
+            int[] imported = { 0 };
+            readCsv(in, maxImportRows, new String[] { "recorded_at", "delay_hours" }, (fields, line) -> {
+                PlantLine partition = partition(fields[2], fields[3], line);
+                batch.add(DelaySample.builder()
+                        .plant(partition.plant())
+                        .line(partition.line())
+                        .recordedAt(parseTimestamp(fields[0], line))
+                        .delayHours(parseDouble(fields[1], line))
+                        .build());
+                if (batch.size() == IMPORT_BATCH) {
+                    imported[0] += recordSamples(batch);
+                }
+            });
+            imported[0] += recordSamples(batch);
+            return imported[0];
+        });
+    }
+
+    /**
+     * @param length the size of the upload in bytes, or {@code -1} when unknown
+     */
+    public int importDelaySamplesColumnar(InputStream in, long length) {
+        return inTransaction(() -> {
+            List<DelaySample> batch = new ArrayList<>(IMPORT_BATCH);
+            int[] imported = { 0 };
+            ColumnarFormat.read(in, length, ColumnarFormat.Kind.DELAY_SAMPLES, maxImportRows, row -> {
+                PlantLine partition = partition((String) row[1], (String) row[2], 0);
+                batch.add(DelaySample.builder()
+                        .plant(partition.plant())
+                        .line(partition.line())
+                        .recordedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli((Long) row[3]), ZONE))
+                        .delayHours((Double) row[4])
+                        .build());
+                if (batch.size() == IMPORT_BATCH) {
+                    imported[0] += recordSamples(batch);
+                }
+            });
+            imported[0] += recordSamples(batch);
+            return imported[0];
+        });
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface CsvRowHandler {
+        void handle(String[] fields, int line) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ImportWork {
+        int run() throws IOException;
+    }
+
+    private <T> void scan(Supplier<Stream<T>> query, RowWriter<T> rowWriter) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<T> rows = query.get()) {
+                rows.forEach(row -> {
+                    try {
+                        rowWriter.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(row);
+                });
+            }
+        });
+    }
+
+    private int inTransaction(ImportWork work) {
+        Integer imported = new TransactionTemplate(transactionManager).execute(status -> {
+            try {
+                return work.run();
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        });
+        return imported == null ? 0 : imported;
+    }
+
+    private Object[] anomalyRow(PlantLine partition, String processName, String type, long count, double avgDelay,
+            int line) {
+        String normalizedType = type == null ? "" : type.trim().toLowerCase(Locale.ROOT);
+        if (processName == null || processName.isBlank() || !("anomaly".equals(normalizedType)
+                || "warning".equals(normalizedType))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid anomaly row" + (line > 0 ? " at line " + line : ""));
+        }
+        return new Object[] { partition.plant(), partition.line(), processName.trim(), count, avgDelay, normalizedType };
+    }
+
+    private static PlantLine partition(String plant, String line, int lineNumber) {
+        PlantLine partition = PlantLine.of(plant, line);
+        if (partition.plant().length() > 32 || partition.line().length() > 32) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Plant and line codes are limited to 32 characters" + (lineNumber > 0 ? " at line " + lineNumber : ""));
+        }
+        return partition;
+    }
+
+    private int insertAnomalies(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("insert into anomalies (plant, line, process_name, count, avg_delay, type) values (?, ?, ?, ?, ?, ?)",
+                batch);
+        // The rows went in over plain JDBC, so the dashboard sections of their lines are marked here
+        Set<PlantLine> partitions = new HashSet<>();
+        for (Object[] row : batch) {
+            partitions.add(new PlantLine((String) row[0], (String) row[1]));
+        }
+        partitions.forEach(partition -> changeTracker.markChangedAfterCommit(partition, Section.ANOMALY));
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    /**
+     * The rows went in over plain JDBC, so once they are committed the cached anomaly queries are
+     * dropped. Imports only insert, so no cached row is stale.
+     */
+    private void afterAnomalyImport() {
+        entityCacheEvictor.evictAfterCommit(Anomaly.class, List.of(), "anomaly-queries");
+    }
+
+    private int recordSamples(List<DelaySample> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        delayHistoryService.recordAll(batch);
+        // Keep the persistence context from growing across batches
+        entityManager.flush();
+        entityManager.clear();
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    /**
+     * Hands the named columns to the handler in the given order, followed by the optional
+     * {@code plant} and {@code line} columns (null when the file has none).
+     */
+    private static void readCsv(InputStream in, long maxRows, String[] columns, CsvRowHandler handler)
+            throws IOException {
+        CsvReader reader = new CsvReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024));
+        List<String> names = reader.next();
+        if (names == null) {
+            return;
+        }
+        if (names.get(0).startsWith(UTF8_BOM)) {
+            names.set(0, names.get(0).substring(1));
+        }
+        names.replaceAll(name -> name.toLowerCase(Locale.ROOT));
+        int[] positions = new int[columns.length + PARTITION_COLUMNS.length];
+        for (int c = 0; c < columns.length; c++) {
+            positions[c] = names.indexOf(columns[c]);
+            if (positions[c] < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing CSV column " + columns[c]);
+            }
+        }
+        for (int c = 0; c < PARTITION_COLUMNS.length; c++) {
+            positions[columns.length + c] = names.indexOf(PARTITION_COLUMNS[c]);
+        }
+
+        String[] fields = new String[positions.length];
+        List<String> values;
+        long rows = 0;
+        while ((values = reader.next()) != null) {
+            int line = reader.recordLine();
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            if (++rows > maxRows) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "CSV file has more than " + maxRows + " rows");
+            }
+            for (int c = 0; c < positions.length; c++) {
+                if (positions[c] < 0) {
+                    fields[c] = null;
+                    continue;
+                }
+                if (positions[c] >= values.size()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too few columns at line " + line);
+                }
+                fields[c] = values.get(positions[c]);
+            }
+            handler.handle(fields, line);
+        }
+    }
+
+    /**
+     * RFC 4180 record reader: quoted fields may contain commas, doubled quotes and line breaks,
+     * and records end at LF or CRLF. Reports the line each record starts on.
+     */
+    static final class CsvReader {
+        private final Reader in;
+        private int line = 1;
+        private int recordLine;
+        private int pending = -1;
+
+        CsvReader(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * The next record's fields, or {@code null} at the end of the input.
+         */
+        List<String> next() throws IOException {
+            recordLine = line;
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            boolean empty = true;
+            while (true) {
+                int ch = read();
+                if (ch < 0) {
+                    if (quoted) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Unterminated quoted field starting at line " + recordLine);
+                    }
+                    if (empty) {
+                        return null;
+                    }
+                    break;
+                }
+                empty = false;
+                if (quoted) {
+                    if (ch == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            current.append('"');
+                        } else {
+                            quoted = false;
+                            pending = following;
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        current.append((char) ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else if (ch == '\n') {
+                    line++;
+                    break;
+                } else if (ch == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                    line++;
+                    break;
+                } else {
+                    current.append((char) ch);
+                }
+            }
+            values.add(current.toString());
+            return values;
+        }
+
+        int recordLine() {
+            return recordLine;
+        }
+
+        private int read() throws IOException {
+            if (pending != -1) {
+                int ch = pending;
+                pending = -1;
+                return ch;
+            }
+            return in.read();
+        }
+    }
+
+    /**
+     * Quotes the value as needed. A value a spreadsheet would evaluate as a formula gets a leading
+     * apostrophe, so names sent through the telemetry API cannot run in the exported file.
+     */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static long parseLong(String value, int line) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid number at line " + line);
+        }
+    }
+
+    private static double parseDouble(String value, int line) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid number at line " + line);
+        }
+    }
+
+    private static LocalDateTime parseTimestamp(String value, int line) {
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid timestamp at line " + line);
+        }
+    }
+}
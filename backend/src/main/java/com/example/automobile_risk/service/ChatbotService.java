@@ -1,25 +1,214 @@
 package com.example.automobile_risk.service;
 
 import com.example.automobile_risk.dto.ChatbotResponse;
+import com.example.automobile_risk.dto.DashboardResponse;
+import com.example.automobile_risk.dto.DeliveryRiskResponse;
+import com.example.automobile_risk.dto.DetectorStateResponse;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.repository.ProcessRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
 @Service
+@RequiredArgsConstructor
 public class ChatbotService {
 
+    private enum Kind {
+        DELIVERY, RISK, OVERVIEW, PROCESS
+    }
+
+    private record Keyword(Kind kind, String value) {
+    }
+
+    private record CachedAnswer(long version, long expiresAtNanos, String content) {
+    }
+
+    private static final KeywordAutomaton<Keyword> KEYWORDS = new KeywordAutomaton<>(vocabulary());
+    private static final DateTimeFormatter DEADLINE_FORMAT = DateTimeFormatter.ofPattern("yyyy년 M월 d일 H시");
+    private static final String FALLBACK = "죄송합니다. 해당 질문에 대해 학습된 데이터가 부족합니다. '납기 리스크'나 '프레스 공정'에 대해 물어봐주세요.";
+
+    private final DashboardService dashboardService;
+    private final ProcessRepository processRepository;
+    private final AnomalyDetector anomalyDetector;
+    private final DeliveryRiskEngine deliveryRiskEngine;
+
+    @Value("${app.chatbot.answer-ttl-ms:2000}")
+    private long answerTtlMs;
+
+    private final Map<String, CachedAnswer> answers = new ConcurrentHashMap<>();
+
     public ChatbotResponse query(String message) {
-        String lowerMessage = message.toLowerCase();
-        String response = "";
-
-        if (lowerMessage.contains("납기") && (lowerMessage.contains("리스크") || lowerMessage.contains("위험"))) {
-            response = "📊 **납기 리스크 분석 결과**\n\n현재 가장 리스크가 높은 오더는 **ORD-2026-0015**입니다.\n\n**주요 리스크 요인:**\n• 차체 조립 공정 이상 7건 발생 (예상 지연: 22.4시간)\n• 설비 점검으로 인한 가동 중단 (예상 지연: 15시간)\n• 엔진 조립 사이클 타임 초과 (예상 지연: 12시간)\n\n**총 예상 지연:** 2일 1시간\n**원래 납기:** 2026년 1월 20일\n**예상 납기:** 2026년 1월 22일 오전 7시";
-        } else if (lowerMessage.contains("프레스")) {
-            response = "🏭 **프레스 공정 현황**\n\n**전체 상태:** 양호\n**가동률:** 96%\n**이상 발생:** 5건 (경고 10건)\n\n**주요 지표:**\n• 평균 압력: 862 kPa (정상 범위)\n• 평균 온도: 77°C (정상 범위)\n• 평균 진동: 1.3 mm/s (정상 범위)";
-        } else if (lowerMessage.contains("전체") || lowerMessage.contains("종합")) {
-            response = "📊 **종합 공정 현황**\n\n**주요 지표:**\n• 전체 가동률: 86.6%\n• 이상 발생: 22건\n• 경고: 45건\n• 생산 효율: 94.2%";
+        boolean[] kinds = new boolean[Kind.values().length];
+        String[] process = new String[1];
+        if (message != null) {
+            KEYWORDS.match(message, keyword -> {
+                kinds[keyword.kind().ordinal()] = true;
+                if (keyword.kind() == Kind.PROCESS && process[0] == null) {
+                    process[0] = keyword.value();
+                }
+            });
+        }
+
+        String response;
+        if (kinds[Kind.DELIVERY.ordinal()] && kinds[Kind.RISK.ordinal()]) {
+            response = cached("delivery-risk", this::renderDeliveryRisk);
+        } else if (process[0] != null) {
+            String name = process[0];
+            response = cached("process:" + name, snapshot -> renderProcess(snapshot, name));
+        } else if (kinds[Kind.OVERVIEW.ordinal()]) {
+            response = cached("overview", this::renderOverview);
         } else {
-            response = "죄송합니다. 해당 질문에 대해 학습된 데이터가 부족합니다. '납기 리스크'나 '프레스 공정'에 대해 물어봐주세요.";
+            response = FALLBACK;
         }
 
         return ChatbotResponse.builder().content(response).build();
     }
+
+    // Answers are reused until the dashboard snapshot changes or the TTL passes
+    private String cached(String key, Function<DashboardSnapshot, String> renderer) {
+        DashboardSnapshot snapshot = dashboardService.getSnapshot();
+        long now = System.nanoTime();
+        CachedAnswer answer = answers.get(key);
+        if (answer != null && answer.version() == snapshot.getVersion() && now - answer.expiresAtNanos() < 0) {
+            return answer.content();
+        }
+        String content = renderer.apply(snapshot);
+        answers.put(key, new CachedAnswer(snapshot.getVersion(), now + answerTtlMs * 1_000_000L, content));
+        return content;
+    }
+
+    private String renderDeliveryRisk(DashboardSnapshot snapshot) {
+        DashboardResponse dashboard = snapshot.getResponse();
+        Map<String, double[]> byProcess = new LinkedHashMap<>(); // [anomalies, delay hours]
+        for (DashboardResponse.AnomalyData a : dashboard.getAnomalyData()) {
+            double[] totals = byProcess.computeIfAbsent(a.getProcess(), p -> new double[2]);
+            totals[0] += a.getCount();
+            totals[1] += a.getCount() * a.getAvgDelayPerIssue();
+        }
+        for (DashboardResponse.AnomalyData w : dashboard.getWarningData()) {
+            byProcess.computeIfAbsent(w.getProcess(), p -> new double[2])[1] += w.getCount() * w.getAvgDelayPerIssue();
+        }
+        List<Map.Entry<String, double[]>> ranked = byProcess.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, double[]> e) -> e.getValue()[1]).reversed())
+                .toList();
+
+        StringBuilder sb = new StringBuilder("📊 **납기 리스크 분석 결과**\n\n");
+        if (!ranked.isEmpty()) {
+            sb.append("현재 가장 리스크가 높은 공정은 **").append(ranked.get(0).getKey()).append("** 공정입니다.\n\n");
+            sb.append("**주요 리스크 요인:**\n");
+            ranked.stream().limit(3).forEach(e -> sb.append("• ").append(e.getKey()).append(" 공정 이상 ")
+                    .append((long) e.getValue()[0]).append("건 (예상 지연: ")
+                    .append(round1(e.getValue()[1])).append("시간)\n"));
+            sb.append('\n');
+        }
+
+        double delayHours = dashboard.getTotalDelayHours();
+        long totalMinutes = Math.round(delayHours * 60);
+        sb.append("**총 예상 지연:** ").append(totalMinutes / (24 * 60)).append("일 ")
+                .append(totalMinutes % (24 * 60) / 60).append("시간");
+        List<DeliveryRiskResponse.OrderRisk> orders = deliveryRiskEngine.getRisk().getOrders();
+        if (!orders.isEmpty()) {
+            DeliveryRiskResponse.OrderRisk order = orders.get(0);
+            LocalDateTime planned = order.getPlannedCompletion();
+            sb.append("\n**납기:** ").append(order.getDeadline().format(DEADLINE_FORMAT)).append('\n');
+            sb.append("**계획 완료:** ").append(planned.format(DEADLINE_FORMAT)).append('\n');
+            sb.append("**예상 완료:** ").append(planned.plusMinutes(totalMinutes).format(DEADLINE_FORMAT)).append('\n');
+            sb.append("**P90 완료 예상:** ").append(order.getP90().format(DEADLINE_FORMAT))
+                    .append(" (납기 초과 확률 ").append(round1(order.getMissProbability() * 100)).append("%)");
+        }
+        return sb.toString();
+    }
+
+    private String renderProcess(DashboardSnapshot snapshot, String name) {
+        DashboardResponse.ProcessStat stat = snapshot.getProcessStats().stream()
+                .filter(p -> name.equals(p.getName()))
+                .findFirst()
+                .orElse(null);
+        ProcessEntity process = processRepository.findFirstByNameOrderByIdAsc(name).orElse(null);
+        if (stat == null || process == null) {
+            return "🏭 **" + name + " 공정 현황**\n\n현재 등록된 데이터가 없습니다.";
+        }
+
+        StringBuilder sb = new StringBuilder("🏭 **").append(name).append(" 공정 현황**\n\n");
+        sb.append("**전체 상태:** ").append(process.getStatus()).append('\n');
+        if (process.getEfficiency() != null) {
+            sb.append("**가동률:** ").append(round1(process.getEfficiency())).append("%\n");
+        }
+        sb.append("**이상 발생:** ").append(stat.get이상()).append("건 (경고 ").append(stat.get경고()).append("건)");
+
+        DetectorStateResponse.ProcessState sensors = anomalyDetector.getState().getProcesses().stream()
+                .filter(p -> name.equals(p.getProcess()))
+                .findFirst()
+                .orElse(null);
+        if (sensors != null && !sensors.getSignals().isEmpty()) {
+            sb.append("\n\n**주요 지표:**");
+            for (DetectorStateResponse.SignalState signal : sensors.getSignals()) {
+                sb.append("\n• 평균 ").append(signalLabel(signal)).append(": ").append(round1(signal.getEwma()))
+                        .append(' ').append(signalUnit(signal)).append(" (")
+                        .append(signal.getLevel() == AnomalyDetector.Level.NORMAL ? "정상 범위" : "이상 감지").append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+    private String renderOverview(DashboardSnapshot snapshot) {
+        DashboardResponse dashboard = snapshot.getResponse();
+        return "📊 **종합 공정 현황**\n\n**주요 지표:**\n"
+                + "• 전체 가동률: " + dashboard.getOverallEfficiency() + "%\n"
+                + "• 이상 발생: " + dashboard.getTotalAnomalies() + "건\n"
+                + "• 경고: " + dashboard.getTotalWarnings() + "건\n"
+                + "• 생산 효율: " + dashboard.getProductionEfficiency() + "%";
+    }
+
+    private static String signalLabel(DetectorStateResponse.SignalState signal) {
+        return switch (signal.getSignal()) {
+            case PRESSURE -> "압력";
+            case TEMPERATURE -> "온도";
+            case VIBRATION -> "진동";
+        };
+    }
+
+    private static String signalUnit(DetectorStateResponse.SignalState signal) {
+        return switch (signal.getSignal()) {
+            case PRESSURE -> "kPa";
+            case TEMPERATURE -> "°C";
+            case VIBRATION -> "mm/s";
+        };
+    }
+
+    private static double round1(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    private static Map<String, Keyword> vocabulary() {
+        Map<String, Keyword> words = new HashMap<>();
+        for (String w : List.of("납기", "납품", "출고", "deadline", "delivery")) {
+            words.put(w, new Keyword(Kind.DELIVERY, w));
+        }
+        for (String w : List.of("리스크", "위험", "지연", "risk", "delay")) {
+            words.put(w, new Keyword(Kind.RISK, w));
+        }
+        for (String w : List.of("전체", "종합", "요약", "overview", "summary")) {
+            words.put(w, new Keyword(Kind.OVERVIEW, w));
+        }
+        Map<String, List<String>> processes = Map.of(
+                "프레스", List.of("프레스", "press"),
+                "엔진", List.of("엔진", "engine"),
+                "차체", List.of("차체", "바디", "body"),
+                "도장", List.of("도장", "페인트", "paint"),
+                "설비", List.of("설비", "장비", "facility", "equipment"));
+        processes.forEach((name, synonyms) -> synonyms.forEach(w -> words.put(w, new Keyword(Kind.PROCESS, name))));
+        return words;
+    }
 }
@@ -0,0 +1,348 @@
+package com.example.automobile_risk.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact column-oriented export format. Rows are written in blocks of up to {@link #BLOCK_ROWS}
+ * so only one block is ever buffered; within a block each column is stored contiguously.
+ *
+ * <pre>
+ * file   := MAGIC version:u8 kind:u8 block* end
+ * block  := rows:varint column*          (rows &gt; 0)
+ * end    := 0:varint
+ * </pre>
+ *
+ * Column encodings: {@code LONG_DELTA} zig-zag varint deltas from the previous row (ids,
+ * epoch millis), {@code LONG} zig-zag varints, {@code DOUBLE} 8-byte IEEE 754, and {@code STRING}
+ * a per-block dictionary followed by one varint index per row.
+ */
+final class ColumnarFormat {
+
+    static final int BLOCK_ROWS = 4096;
+    // Plant, line, process and type names are short; anything longer is a corrupt length
+    private static final int MAX_STRING_BYTES = 64 * 1024;
+    private static final byte[] MAGIC = { 'A', 'R', 'C', 'F' };
+    // Version 2 added the plant and line columns
+    private static final int VERSION = 2;
+
+    enum ColumnType {
+        LONG_DELTA, LONG, DOUBLE, STRING
+    }
+
+    enum Kind {
+        // id, plant, line, process name, type, count, average delay
+        ANOMALIES(ColumnType.LONG_DELTA, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                ColumnType.LONG, ColumnType.DOUBLE),
+        // id, plant, line, epoch millis, delay hours
+        DELAY_SAMPLES(ColumnType.LONG_DELTA, ColumnType.STRING, ColumnType.STRING, ColumnType.LONG_DELTA,
+                ColumnType.DOUBLE);
+
+        private final ColumnType[] columns;
+
+        Kind(ColumnType... columns) {
+            this.columns = columns;
+        }
+    }
+
+    private ColumnarFormat() {
+    }
+
+    /**
+     * Buffers one block of rows and writes it column by column when full.
+     */
+    static final class Writer {
+        private final DataOutputStream out;
+        private final Kind kind;
+        private final long[][] longs;
+        private final double[][] doubles;
+        private final String[][] strings;
+        private int rows;
+
+        Writer(OutputStream out, Kind kind) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.kind = kind;
+            int columns = kind.columns.length;
+            longs = new long[columns][];
+            doubles = new double[columns][];
+            strings = new String[columns][];
+            for (int c = 0; c < columns; c++) {
+                switch (kind.columns[c]) {
+                    case LONG_DELTA, LONG -> longs[c] = new long[BLOCK_ROWS];
+                    case DOUBLE -> doubles[c] = new double[BLOCK_ROWS];
+                    case STRING -> strings[c] = new String[BLOCK_ROWS];
+                }
+            }
+            this.out.write(MAGIC);
+            this.out.writeByte(VERSION);
+            this.out.writeByte(kind.ordinal());
+        }
+
+        /**
+         * Values in column order: {@code Long} for LONG_DELTA/LONG, {@code Double} and {@code String}.
+         */
+        void row(Object... values) throws IOException {
+            for (int c = 0; c < values.length; c++) {
+                switch (kind.columns[c]) {
+                    case LONG_DELTA, LONG -> longs[c][rows] = ((Number) values[c]).longValue();
+                    case DOUBLE -> doubles[c][rows] = ((Number) values[c]).doubleValue();
+                    case STRING -> strings[c][rows] = (String) values[c];
+                }
+            }
+            if (++rows == BLOCK_ROWS) {
+                flushBlock();
+            }
+        }
+
+        void finish() throws IOException {
+            flushBlock();
+            writeVarint(out, 0);
+            out.flush();
+        }
+
+        private void flushBlock() throws IOException {
+            if (rows == 0) {
+                return;
+            }
+            writeVarint(out, rows);
+            for (int c = 0; c < kind.columns.length; c++) {
+                switch (kind.columns[c]) {
+                    case LONG_DELTA -> {
+                        long previous = 0;
+                        for (int r = 0; r < rows; r++) {
+                            writeVarint(out, zigZag(longs[c][r] - previous));
+                            previous = longs[c][r];
+                        }
+                    }
+                    case LONG -> {
+                        for (int r = 0; r < rows; r++) {
+                            writeVarint(out, zigZag(longs[c][r]));
+                        }
+                    }
+                    case DOUBLE -> {
+                        for (int r = 0; r < rows; r++) {
+                            out.writeDouble(doubles[c][r]);
+                        }
+                    }
+                    case STRING -> writeDictionary(c);
+                }
+            }
+            rows = 0;
+        }
+
+        private void writeDictionary(int column) throws IOException {
+            Map<String, Integer> dictionary = new HashMap<>();
+            List<String> entries = new ArrayList<>();
+            int[] indexes = new int[rows];
+            for (int r = 0; r < rows; r++) {
+                String value = strings[column][r] == null ? "" : strings[column][r];
+                indexes[r] = dictionary.computeIfAbsent(value, v -> {
+                    entries.add(v);
+                    return entries.size() - 1;
+                });
+            }
+            writeVarint(out, entries.size());
+            for (String entry : entries) {
+                byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length);
+                out.write(bytes);
+            }
+            for (int index : indexes) {
+                writeVarint(out, index);
+            }
+        }
+    }
+
+    /**
+     * Reads a file block by block and hands every row to the consumer in column order. Every
+     * declared count and length is checked before anything is allocated for it: against the
+     * remaining input when {@code length} is known (it is {@code -1} otherwise), against the
+     * block size, and against {@code maxRows} for the file as a whole. A malformed or truncated
+     * file fails with an {@link IOException}.
+     */
+    static void read(InputStream in, long length, Kind expected, long maxRows, RowConsumer consumer)
+            throws IOException {
+        Input input = new Input(in, length);
+        try {
+            byte[] magic = input.readBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC) || input.readUnsignedByte() != VERSION) {
+                throw new IOException("Not a columnar export file");
+            }
+            if (input.readUnsignedByte() != expected.ordinal()) {
+                throw new IOException("Columnar file does not contain " + expected.name().toLowerCase());
+            }
+            readBlocks(input, expected.columns, maxRows, consumer);
+        } catch (EOFException e) {
+            throw new IOException("Columnar file is truncated", e);
+        }
+    }
+
+    private static void readBlocks(Input input, ColumnType[] columns, long maxRows, RowConsumer consumer)
+            throws IOException {
+        long total = 0;
+        while (true) {
+            long declaredRows = input.readVarint();
+            if (declaredRows == 0) {
+                return;
+            }
+            if (declaredRows < 0 || declaredRows > BLOCK_ROWS) {
+                throw new IOException("Block of " + Long.toUnsignedString(declaredRows) + " rows exceeds "
+                        + BLOCK_ROWS);
+            }
+            int rows = (int) declaredRows;
+            total += rows;
+            if (total > maxRows) {
+                throw new IOException("Columnar file has more than " + maxRows + " rows");
+            }
+            // Every value takes at least one byte, a double exactly eight
+            long minimumBytes = 0;
+            for (ColumnType type : columns) {
+                minimumBytes += (type == ColumnType.DOUBLE ? Double.BYTES : 1L) * rows;
+            }
+            input.require(minimumBytes, "Block of " + rows + " rows");
+
+            Object[][] values = new Object[columns.length][];
+            for (int c = 0; c < columns.length; c++) {
+                Object[] column = new Object[rows];
+                switch (columns[c]) {
+                    case LONG_DELTA -> {
+                        long previous = 0;
+                        for (int r = 0; r < rows; r++) {
+                            previous += unZigZag(input.readVarint());
+                            column[r] = previous;
+                        }
+                    }
+                    case LONG -> {
+                        for (int r = 0; r < rows; r++) {
+                            column[r] = unZigZag(input.readVarint());
+                        }
+                    }
+                    case DOUBLE -> {
+                        for (int r = 0; r < rows; r++) {
+                            column[r] = input.readDouble();
+                        }
+                    }
+                    case STRING -> readDictionaryColumn(input, column);
+                }
+                values[c] = column;
+            }
+            Object[] row = new Object[columns.length];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns.length; c++) {
+                    row[c] = values[c][r];
+                }
+                consumer.accept(row);
+            }
+        }
+    }
+
+    private static void readDictionaryColumn(Input input, Object[] column) throws IOException {
+        int rows = column.length;
+        // The writer only adds entries that some row uses
+        long entries = input.readVarint();
+        if (entries < 1 || entries > rows) {
+            throw new IOException("Dictionary of " + Long.toUnsignedString(entries) + " entries for " + rows + " rows");
+        }
+        input.require(entries, "Dictionary of " + entries + " entries");
+        String[] dictionary = new String[(int) entries];
+        for (int d = 0; d < dictionary.length; d++) {
+            long bytes = input.readVarint();
+            if (bytes < 0 || bytes > MAX_STRING_BYTES) {
+                throw new IOException("String of " + Long.toUnsignedString(bytes) + " bytes exceeds "
+                        + MAX_STRING_BYTES);
+            }
+            dictionary[d] = new String(input.readBytes((int) bytes), StandardCharsets.UTF_8);
+        }
+        for (int r = 0; r < rows; r++) {
+            long index = input.readVarint();
+            if (index < 0 || index >= dictionary.length) {
+                throw new IOException("Dictionary index " + Long.toUnsignedString(index) + " is out of range");
+            }
+            column[r] = dictionary[(int) index];
+        }
+    }
+
+    /**
+     * Counts what has been read so declared lengths can be checked against what is left.
+     */
+    private static final class Input {
+        private final DataInputStream data;
+        private final long length;
+        private long position;
+
+        private Input(InputStream in, long length) {
+            this.data = new DataInputStream(in);
+            this.length = length;
+        }
+
+        private void require(long bytes, String what) throws IOException {
+            if (length >= 0 && bytes > length - position) {
+                throw new IOException(what + " needs " + bytes + " bytes but only " + (length - position)
+                        + " remain");
+            }
+        }
+
+        private int readUnsignedByte() throws IOException {
+            int b = data.readUnsignedByte();
+            position++;
+            return b;
+        }
+
+        private byte[] readBytes(int count) throws IOException {
+            require(count, "Field of " + count + " bytes");
+            byte[] bytes = new byte[count];
+            data.readFully(bytes);
+            position += count;
+            return bytes;
+        }
+
+        private double readDouble() throws IOException {
+            double value = data.readDouble();
+            position += Double.BYTES;
+            return value;
+        }
+
+        private long readVarint() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readUnsignedByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+    }
+
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(Object[] row) throws IOException;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
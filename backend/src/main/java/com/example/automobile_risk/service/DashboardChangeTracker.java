@@ -0,0 +1,125 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.PlantLine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps a change counter per plant line and dashboard section, so a change to one line only
+ * invalidates that line's snapshot. Entity changes arrive through {@link DashboardEntityListener};
+ * plain JDBC and bulk JPQL writes bypass entity callbacks and must call {@link #markChanged} (or
+ * {@link #markAllChanged(Section)} when the lines they touched are not known) themselves.
+ * High-frequency writers use {@link #markPending}, which only sets a flag that is folded into the
+ * counter when versions are next read.
+ */
+@Component
+public class DashboardChangeTracker {
+
+    public enum Section {
+        PROCESS, ANOMALY, HISTORY,
+        /** Counter deltas in {@link ProcessCounters} that have not been flushed yet. Kept last. */
+        LIVE
+    }
+
+    private static final int SECTIONS = Section.values().length;
+
+    private static final class Versions {
+        private final AtomicLongArray versions = new AtomicLongArray(SECTIONS);
+        private final AtomicIntegerArray pending = new AtomicIntegerArray(SECTIONS);
+
+        private void markPending(int section) {
+            if (pending.get(section) == 0) {
+                pending.set(section, 1);
+            }
+        }
+
+        private long current(int section) {
+            if (pending.get(section) != 0 && pending.getAndSet(section, 0) != 0) {
+                return versions.incrementAndGet(section);
+            }
+            return versions.get(section);
+        }
+    }
+
+    private final ConcurrentHashMap<PlantLine, Versions> lines = new ConcurrentHashMap<>();
+    // Changes to every line at once, added to each line's own counters
+    private final Versions everyLine = new Versions();
+    // Every change to any line, so a cross-line reader can tell in one read that nothing changed
+    private final Versions anyLine = new Versions();
+
+    public void markChanged(PlantLine partition, Section section) {
+        lines.computeIfAbsent(partition, p -> new Versions()).versions.incrementAndGet(section.ordinal());
+        anyLine.versions.incrementAndGet(section.ordinal());
+    }
+
+    public void markAllChanged(Section section) {
+        everyLine.versions.incrementAndGet(section.ordinal());
+        anyLine.versions.incrementAndGet(section.ordinal());
+    }
+
+    /**
+     * Flags the section as changed without a shared write per call: the flags are only written when
+     * they are not already set, so a hot path mostly just reads them.
+     */
+    public void markPending(PlantLine partition, Section section) {
+        // Line first, so a reader that consumed the shared flag still finds the line's
+        lines.computeIfAbsent(partition, p -> new Versions()).markPending(section.ordinal());
+        anyLine.markPending(section.ordinal());
+    }
+
+    /**
+     * Bumps the section of the line once the surrounding transaction commits, so readers never
+     * rebuild from uncommitted rows. Without a transaction the bump is immediate.
+     */
+    public void markChangedAfterCommit(PlantLine partition, Section section) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markChanged(partition, section);
+            return;
+        }
+        // One synchronization per line, section and transaction, even for saveAll over many rows
+        String key = DashboardChangeTracker.class.getName() + "." + section.name() + "." + partition;
+        if (TransactionSynchronizationManager.hasResource(key)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(key, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markChanged(partition, section);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+            }
+        });
+    }
+
+    /**
+     * Section versions of one plant line.
+     */
+    public long[] currentVersions(PlantLine partition) {
+        Versions line = lines.computeIfAbsent(partition, p -> new Versions());
+        long[] result = new long[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            result[i] = line.current(i) + everyLine.current(i);
+        }
+        return result;
+    }
+
+    /**
+     * Section versions that move whenever any plant line changes.
+     */
+    public long[] currentVersions() {
+        long[] result = new long[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            result[i] = anyLine.current(i);
+        }
+        return result;
+    }
+}
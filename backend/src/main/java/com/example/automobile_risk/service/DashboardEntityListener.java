@@ -0,0 +1,34 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.Anomaly;
+import com.example.automobile_risk.entity.DelayRollup;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.service.DashboardChangeTracker.Section;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA entity listener for the dashboard entities. Hibernate creates its own instance through
+ * Spring's bean container, so the shared state lives in the injected {@link DashboardChangeTracker}.
+ */
+@RequiredArgsConstructor
+public class DashboardEntityListener {
+
+    private final DashboardChangeTracker changeTracker;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onEntityChange(Object entity) {
+        if (entity instanceof ProcessEntity process) {
+            changeTracker.markChangedAfterCommit(PlantLine.of(process.getPlant(), process.getLine()), Section.PROCESS);
+        } else if (entity instanceof Anomaly anomaly) {
+            changeTracker.markChangedAfterCommit(PlantLine.of(anomaly.getPlant(), anomaly.getLine()), Section.ANOMALY);
+        } else if (entity instanceof DelayRollup rollup) {
+            changeTracker.markChangedAfterCommit(PlantLine.of(rollup.getPlant(), rollup.getLine()), Section.HISTORY);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.automobile_risk.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized form of the current dashboard snapshot of each scope. The JSON and its gzip encoding
+ * are built once per snapshot and reused by every request until the snapshot changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardPayloadCache {
+
+    private final DashboardService dashboardService;
+    private final ObjectMapper objectMapper;
+
+    // Only scopes that DashboardService accepted get an entry, so this is bounded by the known plant lines
+    private final ConcurrentHashMap<String, Payload> payloads = new ConcurrentHashMap<>();
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Payload {
+        private final DashboardSnapshot snapshot;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        // The gzip body is a different representation, so it gets a tag of its own
+        private final String gzipEtag;
+    }
+
+    public Payload get() {
+        return get(null, null);
+    }
+
+    /**
+     * Payload for the scope accepted by {@link DashboardService#getSnapshot(String, String)}.
+     */
+    public Payload get(String plant, String line) {
+        DashboardSnapshot snapshot = dashboardService.getSnapshot(plant, line);
+        String key = (plant == null ? "" : plant.trim()) + "/" + (line == null ? "" : line.trim());
+        Payload current = payloads.get(key);
+        if (current != null && current.getSnapshot().getResponse() == snapshot.getResponse()) {
+            return current;
+        }
+        // Two racing requests may both encode the same snapshot; the results are identical
+        Payload next = encode(snapshot);
+        payloads.put(key, next);
+        return next;
+    }
+
+    private Payload encode(DashboardSnapshot snapshot) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(snapshot.getResponse());
+            String etag = etag(json);
+            return new Payload(snapshot, json, gzip(json), etag, etag.substring(0, etag.length() - 1) + "-gz\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the dashboard", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Derived from the content rather than the snapshot version, so tags survive restarts and
+     * stay equal across instances serving the same data.
+     */
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,86 +1,549 @@
 package com.example.automobile_risk.service;
 
+import com.example.automobile_risk.config.DeliveryRiskProperties;
 import com.example.automobile_risk.dto.DashboardResponse;
-import com.example.automobile_risk.entity.Anomaly;
-import com.example.automobile_risk.entity.DashboardHistory;
+import com.example.automobile_risk.entity.DelayRollup;
+import com.example.automobile_risk.entity.PlantLine;
 import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.entity.RollupResolution;
+import com.example.automobile_risk.metrics.RequestQueryStats;
 import com.example.automobile_risk.repository.AnomalyRepository;
-import com.example.automobile_risk.repository.DashboardHistoryRepository;
+import com.example.automobile_risk.repository.AnomalyTotal;
+import com.example.automobile_risk.repository.DelayRollupRepository;
 import com.example.automobile_risk.repository.ProcessRepository;
+import com.example.automobile_risk.service.DashboardChangeTracker.Section;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Builds dashboard snapshots per plant line, and cross-plant (or whole-plant) views by merging the
+ * snapshots of their lines. Line snapshots are built from queries scoped to that line, so the cost
+ * of a single-line view does not depend on how many other plants exist.
+ */
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("M/d");
+    private static final String ALL_PLANTS = "*";
+    private static final Comparator<PlantLine> PARTITION_ORDER =
+            Comparator.comparing(PlantLine::plant).thenComparing(PlantLine::line);
+
     private final ProcessRepository processRepository;
     private final AnomalyRepository anomalyRepository;
-    private final DashboardHistoryRepository historyRepository;
+    private final DelayRollupRepository rollupRepository;
+    private final DashboardChangeTracker changeTracker;
+    private final PlatformTransactionManager transactionManager;
+    private final DeliveryRiskProperties riskProperties;
+    private final ProcessCounters processCounters;
+
+    private final ConcurrentHashMap<PlantLine, SnapshotSlot> lineSnapshots = new ConcurrentHashMap<>();
+    // Keyed by plant, or ALL_PLANTS for the cross-plant view
+    private final ConcurrentHashMap<String, SnapshotSlot> mergedSnapshots = new ConcurrentHashMap<>();
+    private volatile KnownPartitions knownPartitions;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.dashboard.history-days:7}")
+    private int historyDays;
+
+    private static final class SnapshotSlot {
+        // ReentrantLock rather than synchronized so a virtual thread waiting on a rebuild does not pin its carrier
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        private volatile DashboardSnapshot snapshot;
+    }
+
+    private record KnownPartitions(long[] versions, List<PlantLine> partitions) {
+    }
+
+    @FunctionalInterface
+    private interface Rebuilder {
+        DashboardSnapshot rebuild(DashboardSnapshot previous, long[] versions);
+    }
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
 
     public DashboardResponse getMainDashboardData() {
-        List<ProcessEntity> processes = processRepository.findAll();
-        List<Anomaly> anomalies = anomalyRepository.findByType("anomaly");
-        List<Anomaly> warnings = anomalyRepository.findByType("warning");
-        List<DashboardHistory> history = historyRepository.findAllByOrderByIdAsc();
-
-        int totalAnomalies = anomalies.stream().mapToInt(Anomaly::getCount).sum();
-        int totalWarnings = warnings.stream().mapToInt(Anomaly::getCount).sum();
-
-        double totalDelayHours = anomalies.stream().mapToDouble(a -> a.getCount() * a.getAvgDelay()).sum() +
-                warnings.stream().mapToDouble(w -> w.getCount() * w.getAvgDelay()).sum();
-
-        List<DashboardResponse.AnomalyData> anomalyData = anomalies.stream()
-                .map(a -> DashboardResponse.AnomalyData.builder()
-                        .process(a.getProcessName())
-                        .count(a.getCount())
-                        .avgDelayPerIssue(a.getAvgDelay())
+        return getSnapshot().getResponse();
+    }
+
+    /**
+     * Cross-plant view over every plant line.
+     */
+    public DashboardSnapshot getSnapshot() {
+        return refresh(mergedSnapshots.computeIfAbsent(ALL_PLANTS, k -> new SnapshotSlot()),
+                changeTracker::currentVersions, (previous, versions) -> merge(previous, versions, getPartitions()));
+    }
+
+    /**
+     * Snapshot of a request scope as resolved by {@link #resolvePartitions(String, String)}. Unknown
+     * plants and lines are rejected, so request parameters cannot grow the snapshot maps.
+     */
+    public DashboardSnapshot getSnapshot(String plant, String line) {
+        List<PlantLine> lines = resolvePartitions(plant, line);
+        if (plant == null || plant.isBlank()) {
+            return getSnapshot();
+        }
+        if (line != null && !line.isBlank()) {
+            return getSnapshot(lines.get(0));
+        }
+        return refresh(mergedSnapshots.computeIfAbsent(lines.get(0).plant(), k -> new SnapshotSlot()),
+                changeTracker::currentVersions, (previous, versions) -> merge(previous, versions, lines));
+    }
+
+    public DashboardSnapshot getSnapshot(PlantLine partition) {
+        return refresh(lineSnapshots.computeIfAbsent(partition, k -> new SnapshotSlot()),
+                () -> changeTracker.currentVersions(partition),
+                (previous, versions) -> rebuild(partition, previous, versions));
+    }
+
+    /**
+     * The plant lines a request scope covers: every line without a plant, the plant's lines
+     * without a line. A line without a plant, and plants or lines without data, are rejected
+     * with 400.
+     */
+    public List<PlantLine> resolvePartitions(String plant, String line) {
+        boolean hasPlant = plant != null && !plant.isBlank();
+        boolean hasLine = line != null && !line.isBlank();
+        if (!hasPlant) {
+            if (hasLine) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "line requires plant");
+            }
+            return getPartitions();
+        }
+        if (hasLine) {
+            PlantLine partition = PlantLine.of(plant, line);
+            if (!getPartitions().contains(partition)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown plant line " + partition);
+            }
+            return List.of(partition);
+        }
+        String plantCode = plant.trim();
+        List<PlantLine> lines = getPartitions().stream().filter(p -> p.plant().equals(plantCode)).toList();
+        if (lines.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown plant " + plantCode);
+        }
+        return lines;
+    }
+
+    /**
+     * Plant lines that have process, anomaly or history data, ordered by plant and line.
+     */
+    public List<PlantLine> getPartitions() {
+        long[] versions = changeTracker.currentVersions();
+        KnownPartitions current = knownPartitions;
+        // Un-flushed counters do not add partitions, so LIVE bumps alone do not re-query
+        int stored = Section.LIVE.ordinal();
+        if (current != null && Arrays.equals(versions, 0, stored, current.versions(), 0, stored)) {
+            return current.partitions();
+        }
+        List<PlantLine> partitions = readOnlyTransaction.execute(status -> {
+            TreeSet<PlantLine> found = new TreeSet<>(PARTITION_ORDER);
+            found.addAll(processRepository.findPartitions());
+            found.addAll(anomalyRepository.findPartitions());
+            found.addAll(rollupRepository.findPartitions());
+            return List.copyOf(found);
+        });
+        knownPartitions = new KnownPartitions(versions, partitions);
+        return partitions;
+    }
+
+    private DashboardSnapshot refresh(SnapshotSlot slot, Supplier<long[]> currentVersions, Rebuilder rebuilder) {
+        DashboardSnapshot current = slot.snapshot;
+        long[] versions = currentVersions.get();
+        if (current != null && Arrays.equals(versions, current.getSectionVersions())) {
+            return current;
+        }
+
+        slot.rebuildLock.lock();
+        try {
+            current = slot.snapshot;
+            // Versions are read before querying, so a change committed mid-rebuild triggers another one
+            versions = currentVersions.get();
+            if (current != null && Arrays.equals(versions, current.getSectionVersions())) {
+                return current;
+            }
+            DashboardSnapshot next = rebuilder.rebuild(current, versions);
+            slot.snapshot = next;
+            return next;
+        } finally {
+            slot.rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the stale sections of one plant line concurrently, each on its own virtual thread and
+     * read-only transaction, so a rebuild takes about as long as the slowest query. All loads are
+     * joined before returning and a failure cancels the others. Un-flushed counter deltas are added
+     * on top; when only those changed, no query runs at all.
+     */
+    private DashboardSnapshot rebuild(PlantLine partition, DashboardSnapshot previous, long[] versions) {
+        List<DashboardResponse.ProcessStat> storedProcessStats;
+        DashboardSnapshot.AnomalySection storedAnomalySection;
+        List<DashboardResponse.HistoryData> history;
+
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<DashboardResponse.ProcessStat>> processTask = isStale(previous, versions, Section.PROCESS)
+                    ? scope.submit(readOnly(() -> loadProcessStats(partition)))
+                    : CompletableFuture.completedFuture(previous.getStoredProcessStats());
+            Future<DashboardSnapshot.AnomalySection> anomalyTask = isStale(previous, versions, Section.ANOMALY)
+                    ? scope.submit(readOnly(() -> loadAnomalySection(partition)))
+                    : CompletableFuture.completedFuture(previous.getStoredAnomalySection());
+            Future<List<DashboardResponse.HistoryData>> historyTask = isStale(previous, versions, Section.HISTORY)
+                    ? scope.submit(readOnly(() -> loadHistory(partition)))
+                    : CompletableFuture.completedFuture(previous.getHistory());
+            try {
+                storedProcessStats = join(processTask);
+                storedAnomalySection = join(anomalyTask);
+                history = join(historyTask);
+            } catch (RuntimeException e) {
+                scope.shutdownNow();
+                throw e;
+            }
+        }
+
+        Map<String, ProcessDelta> pending = processCounters.pending(partition);
+        List<DashboardResponse.ProcessStat> processStats = pending.isEmpty()
+                ? storedProcessStats
+                : withPendingCounts(storedProcessStats, pending.values());
+        // Only episodes change the anomaly section; keeping the instance lets its consumers skip recomputing
+        DashboardSnapshot.AnomalySection anomalySection = pending.values().stream()
+                .anyMatch(d -> d.getAnomalyEpisodes() != 0 || d.getWarningEpisodes() != 0)
+                ? withPendingEpisodes(storedAnomalySection, pending.values())
+                : storedAnomalySection;
+
+        long version = previous == null ? 1 : previous.getVersion() + 1;
+        return new DashboardSnapshot(version, versions, processStats, anomalySection, history,
+                assemble(processStats, anomalySection, history), storedProcessStats, storedAnomalySection, List.of());
+    }
+
+    private static List<DashboardResponse.ProcessStat> withPendingCounts(List<DashboardResponse.ProcessStat> stored,
+            Collection<ProcessDelta> pending) {
+        Map<String, long[]> counts = new LinkedHashMap<>(); // [normal, warning, anomaly]
+        for (DashboardResponse.ProcessStat stat : stored) {
+            counts.put(stat.getName(), new long[] { valueOf(stat.get정상()), valueOf(stat.get경고()),
+                    valueOf(stat.get이상()) });
+        }
+        for (ProcessDelta delta : pending) {
+            long[] c = counts.computeIfAbsent(delta.getProcessName(), name -> new long[3]);
+            c[0] += delta.getNormal();
+            c[1] += delta.getWarning();
+            c[2] += delta.getAnomaly();
+        }
+        return toProcessStats(counts);
+    }
+
+    private DashboardSnapshot.AnomalySection withPendingEpisodes(DashboardSnapshot.AnomalySection stored,
+            Collection<ProcessDelta> pending) {
+        Map<List<String>, MergedTotal> totals = new LinkedHashMap<>();
+        for (AnomalyTotal total : stored.getTotals()) {
+            totals.computeIfAbsent(List.of(total.getType(), total.getProcessName()),
+                    key -> new MergedTotal(total.getType(), total.getProcessName())).add(total);
+        }
+        for (ProcessDelta delta : pending) {
+            if (delta.getAnomalyEpisodes() != 0) {
+                totals.computeIfAbsent(List.of("anomaly", delta.getProcessName()),
+                        key -> new MergedTotal("anomaly", delta.getProcessName()))
+                        .add(delta.getAnomalyEpisodes(), delta.getAnomalyDelayHours());
+            }
+            if (delta.getWarningEpisodes() != 0) {
+                totals.computeIfAbsent(List.of("warning", delta.getProcessName()),
+                        key -> new MergedTotal("warning", delta.getProcessName()))
+                        .add(delta.getWarningEpisodes(), delta.getWarningDelayHours());
+            }
+        }
+        return toAnomalySection(List.copyOf(totals.values()));
+    }
+
+    private static long valueOf(Long count) {
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Sums the snapshots of the given lines: process counters and anomaly totals by process name,
+     * history by day. When none of the line snapshots changed, for instance because the change
+     * was on another plant, the previous merge is kept under the new versions.
+     */
+    private DashboardSnapshot merge(DashboardSnapshot previous, long[] versions, List<PlantLine> partitions) {
+        List<DashboardSnapshot> parts = lineSnapshots(partitions);
+        if (previous != null && sameInstances(parts, previous.getParts())) {
+            return previous.withSectionVersions(versions);
+        }
+
+        Map<String, long[]> processCounts = new LinkedHashMap<>(); // [normal, warning, anomaly]
+        Map<List<String>, MergedTotal> anomalyTotals = new LinkedHashMap<>();
+        Map<String, Double> historyByDay = new HashMap<>();
+        for (DashboardSnapshot part : parts) {
+            for (DashboardResponse.ProcessStat stat : part.getProcessStats()) {
+                long[] counts = processCounts.computeIfAbsent(stat.getName(), name -> new long[3]);
+                counts[0] += valueOf(stat.get정상());
+                counts[1] += valueOf(stat.get경고());
+                counts[2] += valueOf(stat.get이상());
+            }
+            for (AnomalyTotal total : part.getAnomalySection().getTotals()) {
+                anomalyTotals.computeIfAbsent(List.of(total.getType(), total.getProcessName()),
+                        key -> new MergedTotal(total.getType(), total.getProcessName()))
+                        .add(total);
+            }
+            for (DashboardResponse.HistoryData day : part.getHistory()) {
+                historyByDay.merge(day.get날짜(), day.get지연시간(), Double::sum);
+            }
+        }
+
+        List<DashboardResponse.ProcessStat> processStats = toProcessStats(processCounts);
+        // Same stored data and no pending episodes anywhere: keep the previous instance, which lets
+        // identity-keyed consumers such as DeliveryRiskEngine skip recomputing
+        boolean anomaliesUnchanged = previous != null
+                && previous.getAnomalySection() == previous.getStoredAnomalySection()
+                && previous.getParts().size() == parts.size();
+        for (int i = 0; anomaliesUnchanged && i < parts.size(); i++) {
+            DashboardSnapshot part = parts.get(i);
+            anomaliesUnchanged = part.getAnomalySection() == part.getStoredAnomalySection()
+                    && part.getAnomalySection() == previous.getParts().get(i).getAnomalySection();
+        }
+        DashboardSnapshot.AnomalySection anomalySection = anomaliesUnchanged
+                ? previous.getAnomalySection()
+                : toAnomalySection(List.copyOf(anomalyTotals.values()));
+        boolean episodesPending = parts.stream().anyMatch(p -> p.getAnomalySection() != p.getStoredAnomalySection());
+        List<DashboardResponse.HistoryData> history = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int daysAgo = historyDays; daysAgo >= 1; daysAgo--) {
+            String label = today.minusDays(daysAgo).format(DAY_LABEL);
+            Double delay = historyByDay.get(label);
+            if (delay != null) {
+                history.add(DashboardResponse.HistoryData.builder()
+                        .날짜(label)
+                        .지연시간(Math.round(delay * 10.0) / 10.0)
+                        .build());
+            }
+        }
+
+        long version = previous == null ? 1 : previous.getVersion() + 1;
+        // A merged view is never rebuilt from its stored sections; they only record whether episodes were pending
+        return new DashboardSnapshot(version, versions, processStats, anomalySection,
+                Collections.unmodifiableList(history), assemble(processStats, anomalySection, history),
+                processStats, episodesPending ? null : anomalySection, parts);
+    }
+
+    /**
+     * Current snapshots of the given lines. Lines whose cached snapshot is up to date are taken
+     * from their slots; the others are rebuilt in parallel, one virtual thread per line.
+     */
+    private List<DashboardSnapshot> lineSnapshots(List<PlantLine> partitions) {
+        DashboardSnapshot[] parts = new DashboardSnapshot[partitions.size()];
+        Map<Integer, Future<DashboardSnapshot>> stale = new HashMap<>();
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < parts.length; i++) {
+                PlantLine partition = partitions.get(i);
+                SnapshotSlot slot = lineSnapshots.get(partition);
+                DashboardSnapshot cached = slot == null ? null : slot.snapshot;
+                if (cached != null
+                        && Arrays.equals(changeTracker.currentVersions(partition), cached.getSectionVersions())) {
+                    parts[i] = cached;
+                } else {
+                    stale.put(i, scope.submit(RequestQueryStats.propagate(() -> getSnapshot(partition))));
+                }
+            }
+            try {
+                for (Map.Entry<Integer, Future<DashboardSnapshot>> task : stale.entrySet()) {
+                    parts[task.getKey()] = join(task.getValue());
+                }
+            } catch (RuntimeException e) {
+                scope.shutdownNow();
+                throw e;
+            }
+        }
+        return List.of(parts);
+    }
+
+    private static boolean sameInstances(List<DashboardSnapshot> parts, List<DashboardSnapshot> previous) {
+        if (parts.size() != previous.size()) {
+            return false;
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            if (parts.get(i) != previous.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<DashboardResponse.ProcessStat> toProcessStats(Map<String, long[]> counts) {
+        return counts.entrySet().stream()
+                .map(e -> DashboardResponse.ProcessStat.builder()
+                        .name(e.getKey())
+                        .정상(e.getValue()[0])
+                        .경고(e.getValue()[1])
+                        .이상(e.getValue()[2])
                         .build())
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Getter
+    private static final class MergedTotal implements AnomalyTotal {
+        private final String type;
+        private final String processName;
+        private Long totalCount = 0L;
+        private Double totalDelay = 0.0;
+
+        private MergedTotal(String type, String processName) {
+            this.type = type;
+            this.processName = processName;
+        }
+
+        private void add(AnomalyTotal other) {
+            add(other.getTotalCount() == null ? 0 : other.getTotalCount(),
+                    other.getTotalDelay() == null ? 0 : other.getTotalDelay());
+        }
+
+        private void add(long count, double delay) {
+            totalCount += count;
+            totalDelay += delay;
+        }
+    }
+
+    // A section load for a worker thread: its own read-only transaction, counted against the calling request
+    private <T> Callable<T> readOnly(Supplier<T> load) {
+        return RequestQueryStats.propagate(() -> readOnlyTransaction.execute(status -> load.get()));
+    }
+
+    private static <T> T join(Future<T> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the dashboard", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 
-        List<DashboardResponse.AnomalyData> warningData = warnings.stream()
-                .map(w -> DashboardResponse.AnomalyData.builder()
-                        .process(w.getProcessName())
-                        .count(w.getCount())
-                        .avgDelayPerIssue(w.getAvgDelay())
+    private boolean isStale(DashboardSnapshot previous, long[] versions, Section section) {
+        return previous == null || previous.getSectionVersions()[section.ordinal()] != versions[section.ordinal()];
+    }
+
+    private List<DashboardResponse.ProcessStat> loadProcessStats(PlantLine partition) {
+        List<ProcessEntity> processes = processRepository.findByPlantAndLineOrderByIdAsc(partition.plant(),
+                partition.line());
+        return processes.stream()
+                .map(p -> DashboardResponse.ProcessStat.builder()
+                        .name(p.getName())
+                        .정상(valueOf(p.getNormalCount()))
+                        .경고(valueOf(p.getWarningCount()))
+                        .이상(valueOf(p.getAnomalyCount()))
                         .build())
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private DashboardSnapshot.AnomalySection loadAnomalySection(PlantLine partition) {
+        return toAnomalySection(List.copyOf(anomalyRepository.sumByTypeAndProcessName(partition.plant(),
+                partition.line())));
+    }
+
+    private DashboardSnapshot.AnomalySection toAnomalySection(List<AnomalyTotal> totals) {
+        List<DashboardResponse.AnomalyData> anomalyData = new ArrayList<>();
+        List<DashboardResponse.AnomalyData> warningData = new ArrayList<>();
+        long totalAnomalies = 0;
+        long totalWarnings = 0;
+        double totalDelayHours = 0;
+
+        for (AnomalyTotal total : totals) {
+            long count = total.getTotalCount() == null ? 0 : total.getTotalCount();
+            double delay = total.getTotalDelay() == null ? 0 : total.getTotalDelay();
+            DashboardResponse.AnomalyData data = DashboardResponse.AnomalyData.builder()
+                    .process(total.getProcessName())
+                    .count(count)
+                    .avgDelayPerIssue(count == 0 ? 0.0 : Math.round(delay / count * 100.0) / 100.0)
+                    .build();
 
-        List<DashboardResponse.HistoryData> historyData = history.stream()
-                .map(h -> DashboardResponse.HistoryData.builder()
-                        .날짜(h.getDate())
-                        .지연시간(h.getTotalDelay())
+            if ("anomaly".equals(total.getType())) {
+                anomalyData.add(data);
+                totalAnomalies += count;
+                totalDelayHours += delay;
+            } else if ("warning".equals(total.getType())) {
+                warningData.add(data);
+                totalWarnings += count;
+                totalDelayHours += delay;
+            }
+        }
+
+        return new DashboardSnapshot.AnomalySection(List.copyOf(anomalyData), List.copyOf(warningData),
+                totalAnomalies, totalWarnings, totalDelayHours, totals);
+    }
+
+    private List<DashboardResponse.HistoryData> loadHistory(PlantLine partition) {
+        // Completed days only; today is represented by the live total appended in assemble()
+        LocalDate today = LocalDate.now();
+        List<DelayRollup> days = rollupRepository.findByPlantAndLineAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+                partition.plant(), partition.line(), RollupResolution.DAILY,
+                today.minusDays(historyDays).atStartOfDay(), today.minusDays(1).atStartOfDay());
+        return days.stream()
+                .map(day -> DashboardResponse.HistoryData.builder()
+                        .날짜(day.getBucketStart().format(DAY_LABEL))
+                        .지연시간(Math.round(day.average() * 10.0) / 10.0)
                         .build())
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private DashboardResponse assemble(List<DashboardResponse.ProcessStat> processStats,
+            DashboardSnapshot.AnomalySection anomalySection, List<DashboardResponse.HistoryData> history) {
+        double totalDelayHours = anomalySection.getTotalDelayHours();
 
+        List<DashboardResponse.HistoryData> historyData = new ArrayList<>(history);
         // Add current delay to history for charts
         historyData.add(DashboardResponse.HistoryData.builder()
-                .날짜("1/9")
+                .날짜(LocalDate.now().format(DAY_LABEL))
                 .지연시간(Math.round(totalDelayHours * 10.0) / 10.0)
                 .build());
 
-        List<DashboardResponse.ProcessStat> processStats = processes.stream()
-                .map(p -> DashboardResponse.ProcessStat.builder()
-                        .name(p.getName())
-                        .정상(p.getNormalCount())
-                        .경고(p.getWarningCount())
-                        .이상(p.getAnomalyCount())
-                        .build())
-                .collect(Collectors.toList());
-
         return DashboardResponse.builder()
-                .anomalyData(anomalyData)
-                .warningData(warningData)
-                .totalAnomalies(totalAnomalies)
-                .totalWarnings(totalWarnings)
+                .anomalyData(anomalySection.getAnomalyData())
+                .warningData(anomalySection.getWarningData())
+                .totalAnomalies(anomalySection.getTotalAnomalies())
+                .totalWarnings(anomalySection.getTotalWarnings())
                 .totalDelayHours(totalDelayHours)
-                .originalDeadline("2026-01-20T18:00:00")
+                .originalDeadline(riskProperties.orders().isEmpty() ? null
+                        : riskProperties.orders().get(0).deadline()
+                                .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
                 .overallEfficiency(86.6)
                 .productionEfficiency(94.2)
-                .historyData(historyData)
+                .historyData(Collections.unmodifiableList(historyData))
                 .processStats(processStats)
                 .build();
     }
@@ -0,0 +1,49 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.DashboardResponse;
+import com.example.automobile_risk.repository.AnomalyTotal;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Immutable, versioned view of the main dashboard. Each section keeps the tracker version it was
+ * built from so a rebuild only re-reads the sections that actually changed.
+ */
+@Getter
+@RequiredArgsConstructor
+public class DashboardSnapshot {
+
+    private final long version;
+    private final long[] sectionVersions;
+    private final List<DashboardResponse.ProcessStat> processStats;
+    private final AnomalySection anomalySection;
+    private final List<DashboardResponse.HistoryData> history;
+    private final DashboardResponse response;
+    // Sections as stored in the database, before un-flushed counter deltas were added
+    private final List<DashboardResponse.ProcessStat> storedProcessStats;
+    private final AnomalySection storedAnomalySection;
+    // Line snapshots a merged view was summed from; empty for a line snapshot
+    private final List<DashboardSnapshot> parts;
+
+    /**
+     * The same content, current as of newer tracker versions.
+     */
+    public DashboardSnapshot withSectionVersions(long[] versions) {
+        return new DashboardSnapshot(version, versions, processStats, anomalySection, history, response,
+                storedProcessStats, storedAnomalySection, parts);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class AnomalySection {
+        private final List<DashboardResponse.AnomalyData> anomalyData;
+        private final List<DashboardResponse.AnomalyData> warningData;
+        private final long totalAnomalies;
+        private final long totalWarnings;
+        private final double totalDelayHours;
+        // Unrounded per-process sums, kept so line sections can be merged exactly
+        private final List<AnomalyTotal> totals;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.DashboardDelta;
+import com.example.automobile_risk.dto.DashboardResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Pushes dashboard changes to SSE subscribers. Each subscriber gets the full snapshot on connect,
+ * then deltas against the snapshot it last received, so a change is never lost between the connect
+ * snapshot and the first poll. Snapshots that arrive while a send is in progress collapse into the
+ * newest one, and subscribers on the same version share one computed delta. Sends run on
+ * short-lived virtual threads, so idle connections hold no thread.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStreamService {
+
+    private static final Map<String, Function<DashboardResponse, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("anomalyData", DashboardResponse::getAnomalyData);
+        FIELDS.put("warningData", DashboardResponse::getWarningData);
+        FIELDS.put("totalAnomalies", DashboardResponse::getTotalAnomalies);
+        FIELDS.put("totalWarnings", DashboardResponse::getTotalWarnings);
+        FIELDS.put("totalDelayHours", DashboardResponse::getTotalDelayHours);
+        FIELDS.put("originalDeadline", DashboardResponse::getOriginalDeadline);
+        FIELDS.put("overallEfficiency", DashboardResponse::getOverallEfficiency);
+        FIELDS.put("productionEfficiency", DashboardResponse::getProductionEfficiency);
+        FIELDS.put("historyData", DashboardResponse::getHistoryData);
+        FIELDS.put("processStats", DashboardResponse::getProcessStats);
+    }
+
+    private final DashboardService dashboardService;
+
+    @Value("${app.dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.dashboard.stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile DashboardSnapshot lastPublished;
+    private volatile DeltaMemo lastDelta;
+
+    private record DeltaMemo(DashboardSnapshot base, DashboardSnapshot target, DashboardDelta delta) {
+    }
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many dashboard subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.requestFullSnapshot();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.poll-interval-ms:1000}")
+    public void publishChanges() {
+        if (subscribers.isEmpty()) {
+            lastPublished = null;
+            return;
+        }
+        DashboardSnapshot current = dashboardService.getSnapshot();
+        if (current == lastPublished) {
+            return;
+        }
+        lastPublished = current;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(current);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.requestHeartbeat();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Delta from {@code base} to {@code target}, or null when no field changed. The last result is
+     * kept because subscribers that are up to date all ask for the same pair.
+     */
+    private DashboardDelta delta(DashboardSnapshot base, DashboardSnapshot target) {
+        DeltaMemo memo = lastDelta;
+        if (memo != null && memo.base() == base && memo.target() == target) {
+            return memo.delta();
+        }
+        Map<String, Object> changes = diff(base.getResponse(), target.getResponse());
+        DashboardDelta delta = changes.isEmpty() ? null : DashboardDelta.builder()
+                .baseVersion(base.getVersion())
+                .version(target.getVersion())
+                .changes(changes)
+                .build();
+        lastDelta = new DeltaMemo(base, target, delta);
+        return delta;
+    }
+
+    private Map<String, Object> diff(DashboardResponse previous, DashboardResponse current) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        FIELDS.forEach((name, getter) -> {
+            Object value = getter.apply(current);
+            if (!Objects.equals(getter.apply(previous), value)) {
+                changes.put(name, value);
+            }
+        });
+        return changes;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Guarded by this; only the newest offered snapshot is kept. Starts with a full snapshot,
+        // so a snapshot offered before subscribe() requests it is never diffed against nothing
+        private DashboardSnapshot offered;
+        private boolean fullSnapshot = true;
+        private boolean heartbeat;
+        // Only touched by the draining thread
+        private DashboardSnapshot sent;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void requestFullSnapshot() {
+            synchronized (this) {
+                fullSnapshot = true;
+                offered = null;
+            }
+            schedule();
+        }
+
+        private void requestHeartbeat() {
+            synchronized (this) {
+                heartbeat = true;
+            }
+            schedule();
+        }
+
+        private void offer(DashboardSnapshot snapshot) {
+            synchronized (this) {
+                if (fullSnapshot) {
+                    return; // the full snapshot is read at send time and already includes this change
+                }
+                offered = snapshot;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    boolean sendFull;
+                    boolean sendHeartbeat;
+                    DashboardSnapshot snapshot;
+                    synchronized (this) {
+                        sendFull = fullSnapshot;
+                        snapshot = offered;
+                        sendHeartbeat = heartbeat && !sendFull && snapshot == null;
+                        fullSnapshot = false;
+                        offered = null;
+                        heartbeat = false;
+                        if (!sendFull && snapshot == null && !sendHeartbeat) {
+                            draining.set(false);
+                            return;
+                        }
+                    }
+                    send(sendFull, snapshot, sendHeartbeat);
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                draining.set(false);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void send(boolean sendFull, DashboardSnapshot snapshot, boolean sendHeartbeat) throws IOException {
+            if (sendFull) {
+                sent = dashboardService.getSnapshot();
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(sent.getVersion()))
+                        .name("snapshot")
+                        .data(sent.getResponse()));
+            } else if (snapshot != null) {
+                if (snapshot.getVersion() <= sent.getVersion()) {
+                    return;
+                }
+                DashboardDelta delta = delta(sent, snapshot);
+                sent = snapshot;
+                if (delta != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(delta.getVersion()))
+                            .name("delta")
+                            .data(delta));
+                }
+            } else if (sendHeartbeat) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.DelaySeriesResponse;
+import com.example.automobile_risk.entity.DashboardHistory;
+import com.example.automobile_risk.entity.DelayRollup;
+import com.example.automobile_risk.entity.DelaySample;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.RollupResolution;
+import com.example.automobile_risk.repository.DashboardHistoryRepository;
+import com.example.automobile_risk.repository.DelayRollupRepository;
+import com.example.automobile_risk.repository.DelaySampleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stores the total delay of each plant line as timestamped samples and keeps hourly and daily
+ * rollups up to date as samples arrive, so range queries read at most one row per bucket instead
+ * of every sample.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DelayHistoryService {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final DelaySampleRepository sampleRepository;
+    private final DelayRollupRepository rollupRepository;
+    private final DashboardHistoryRepository legacyHistoryRepository;
+    private final DashboardService dashboardService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Rollups are read-modify-write, so writers in this instance take turns
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Value("${app.history.raw-max-span-hours:48}")
+    private long rawMaxSpanHours;
+
+    @Value("${app.history.hourly-max-span-days:90}")
+    private long hourlyMaxSpanDays;
+
+    @Value("${app.history.max-points:5000}")
+    private int maxPoints;
+
+    @Scheduled(fixedDelayString = "${app.history.sample-interval-ms:300000}",
+            initialDelayString = "${app.history.sample-interval-ms:300000}")
+    public void sampleCurrentDelay() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DelaySample> samples = new ArrayList<>();
+        for (PlantLine partition : dashboardService.getPartitions()) {
+            double totalDelayHours = dashboardService.getSnapshot(partition).getAnomalySection().getTotalDelayHours();
+            samples.add(DelaySample.builder()
+                    .plant(partition.plant())
+                    .line(partition.line())
+                    .recordedAt(now)
+                    .delayHours(totalDelayHours)
+                    .build());
+        }
+        recordAll(samples);
+    }
+
+    public void record(LocalDateTime recordedAt, double delayHours) {
+        record(PlantLine.DEFAULT, recordedAt, delayHours);
+    }
+
+    public void record(PlantLine partition, LocalDateTime recordedAt, double delayHours) {
+        recordAll(List.of(DelaySample.builder()
+                .plant(partition.plant())
+                .line(partition.line())
+                .recordedAt(recordedAt)
+                .delayHours(delayHours)
+                .build()));
+    }
+
+    /**
+     * Saves the samples and folds them into their partition's hourly and daily buckets in one
+     * transaction.
+     */
+    public void recordAll(Collection<DelaySample> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                sampleRepository.saveAll(samples);
+                Map<PlantLine, List<DelaySample>> byPartition = samples.stream()
+                        .collect(Collectors.groupingBy(s -> PlantLine.of(s.getPlant(), s.getLine())));
+                byPartition.forEach(this::updateRollups);
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void updateRollups(PlantLine partition, List<DelaySample> samples) {
+        LocalDateTime first = samples.stream().map(DelaySample::getRecordedAt).min(Comparator.naturalOrder()).get();
+        LocalDateTime last = samples.stream().map(DelaySample::getRecordedAt).max(Comparator.naturalOrder()).get();
+        for (RollupResolution resolution : RollupResolution.values()) {
+            // One range read per resolution instead of a lookup per bucket
+            Map<LocalDateTime, DelayRollup> buckets = new HashMap<>();
+            for (DelayRollup rollup : rollupRepository.findByPlantAndLineAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+                    partition.plant(), partition.line(), resolution, resolution.bucketOf(first), last)) {
+                buckets.put(rollup.getBucketStart(), rollup);
+            }
+            for (DelaySample sample : samples) {
+                buckets.computeIfAbsent(resolution.bucketOf(sample.getRecordedAt()),
+                        start -> DelayRollup.builder()
+                                .plant(partition.plant())
+                                .line(partition.line())
+                                .resolution(resolution)
+                                .bucketStart(start)
+                                .build())
+                        .add(sample.getDelayHours());
+            }
+            rollupRepository.saveAll(buckets.values());
+        }
+    }
+
+    public DelaySeriesResponse getSeries(PlantLine partition, LocalDateTime from, LocalDateTime to, int points) {
+        return getSeries(List.of(partition), from, to, points);
+    }
+
+    /**
+     * Series for a request scope resolved the same way as the main dashboard: no plant covers all
+     * plants, a plant without a line all lines of that plant.
+     */
+    public DelaySeriesResponse getSeries(String plant, String line, LocalDateTime from, LocalDateTime to, int points) {
+        return getSeries(dashboardService.resolvePartitions(plant, line), from, to, points);
+    }
+
+    /**
+     * Total delay of the given lines over time, summed per timestamp or bucket. Samples of all
+     * lines are taken at the same instants, so the sums line up.
+     */
+    public DelaySeriesResponse getSeries(List<PlantLine> partitions, LocalDateTime from, LocalDateTime to, int points) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        int budget = Math.max(3, Math.min(points, maxPoints));
+        Duration span = Duration.between(from, to);
+
+        String resolution;
+        TreeMap<LocalDateTime, Double> totals = new TreeMap<>();
+        if (span.compareTo(Duration.ofHours(rawMaxSpanHours)) <= 0) {
+            resolution = "RAW";
+            for (PlantLine partition : partitions) {
+                for (DelaySample sample : sampleRepository.findByPlantAndLineAndRecordedAtBetweenOrderByRecordedAtAsc(
+                        partition.plant(), partition.line(), from, to)) {
+                    totals.merge(sample.getRecordedAt(), sample.getDelayHours(), Double::sum);
+                }
+            }
+        } else {
+            RollupResolution rollupResolution = span.compareTo(Duration.ofDays(hourlyMaxSpanDays)) <= 0
+                    ? RollupResolution.HOURLY
+                    : RollupResolution.DAILY;
+            resolution = rollupResolution.name();
+            for (PlantLine partition : partitions) {
+                for (DelayRollup rollup : rollupRepository.findByPlantAndLineAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+                        partition.plant(), partition.line(), rollupResolution, rollupResolution.bucketOf(from), to)) {
+                    totals.merge(rollup.getBucketStart(), rollup.average(), Double::sum);
+                }
+            }
+        }
+        List<DelaySeriesResponse.Point> series = new ArrayList<>(totals.size());
+        totals.forEach((timestamp, value) -> series.add(new DelaySeriesResponse.Point(timestamp, value)));
+
+        List<DelaySeriesResponse.Point> sampled = Lttb.downsample(series, budget,
+                p -> p.getTimestamp().atZone(ZONE).toInstant().toEpochMilli(), DelaySeriesResponse.Point::getValue);
+        return DelaySeriesResponse.builder()
+                .resolution(resolution)
+                .sourcePoints(series.size())
+                .points(sampled)
+                .build();
+    }
+
+    /**
+     * Moves rows from the old string-dated history table into the default plant line's samples.
+     * Dates such as "1/5" carry no year, so they are placed in the most recent year that is not in
+     * the future.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyHistory() {
+        // recordAll joins this transaction, so the rows are either migrated and deleted or left as they were
+        transactionTemplate.executeWithoutResult(status -> {
+            List<DashboardHistory> legacy = legacyHistoryRepository.findAllForMigration();
+            if (legacy.isEmpty()) {
+                return;
+            }
+            LocalDate today = LocalDate.now();
+            List<DelaySample> samples = new ArrayList<>();
+            for (DashboardHistory row : legacy) {
+                LocalDate date = parseLegacyDate(row.getDate(), today);
+                if (date == null || row.getTotalDelay() == null) {
+                    log.warn("Skipping legacy history row {} with date '{}'", row.getId(), row.getDate());
+                    continue;
+                }
+                samples.add(DelaySample.builder()
+                        .recordedAt(date.atStartOfDay())
+                        .delayHours(row.getTotalDelay())
+                        .build());
+            }
+            recordAll(samples);
+            legacyHistoryRepository.deleteAllInBatch(legacy);
+            log.info("Migrated {} legacy history rows into delay samples", samples.size());
+        });
+    }
+
+    static LocalDate parseLegacyDate(String value, LocalDate today) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (value.contains("-")) {
+                return LocalDate.parse(value.trim());
+            }
+            String[] parts = value.trim().split("/");
+            if (parts.length != 2) {
+                return null;
+            }
+            LocalDate date = LocalDate.of(today.getYear(), Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+            return date.isAfter(today) ? date.minusYears(1) : date;
+        } catch (DateTimeException | NumberFormatException e) {
+            return null;
+        }
+    }
+}
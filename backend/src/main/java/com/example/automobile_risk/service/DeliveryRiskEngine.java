@@ -0,0 +1,211 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.config.DeliveryRiskProperties;
+import com.example.automobile_risk.dto.DashboardResponse;
+import com.example.automobile_risk.dto.DeliveryRiskResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Monte Carlo estimate of order completion times. Every process and anomaly type is modelled as a
+ * Poisson number of events with exponentially distributed delays, both fitted to the aggregated
+ * anomaly counts and mean delays. Trials are split across the common ForkJoin pool, each leaf
+ * drawing from its own {@link SplittableRandom} and writing into a shared {@code double[]}.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeliveryRiskEngine {
+
+    private static final int LEAF_TRIALS = 8_192;
+    // Above these sizes the exact samplers are replaced by their normal approximations
+    private static final double POISSON_NORMAL_THRESHOLD = 64;
+    private static final int GAMMA_NORMAL_THRESHOLD = 32;
+
+    private final DashboardService dashboardService;
+    private final DeliveryRiskProperties properties;
+
+    private final ReentrantLock simulationLock = new ReentrantLock();
+    private volatile Result result;
+
+    private record Result(DashboardSnapshot.AnomalySection input, DeliveryRiskResponse response) {
+    }
+
+    /**
+     * Returns the last simulation while the anomaly data it was fitted to is unchanged.
+     */
+    public DeliveryRiskResponse getRisk() {
+        DashboardSnapshot.AnomalySection input = dashboardService.getSnapshot().getAnomalySection();
+        Result current = result;
+        if (current != null && current.input() == input) {
+            return current.response();
+        }
+        simulationLock.lock();
+        try {
+            current = result;
+            if (current != null && current.input() == input) {
+                return current.response();
+            }
+            DeliveryRiskResponse response = simulate(input);
+            result = new Result(input, response);
+            return response;
+        } finally {
+            simulationLock.unlock();
+        }
+    }
+
+    private DeliveryRiskResponse simulate(DashboardSnapshot.AnomalySection input) {
+        long started = System.nanoTime();
+        int sources = input.getAnomalyData().size() + input.getWarningData().size();
+        double[] rates = new double[sources];
+        double[] meanDelays = new double[sources];
+        int i = 0;
+        double expectedDelay = 0;
+        for (List<DashboardResponse.AnomalyData> data : List.of(input.getAnomalyData(), input.getWarningData())) {
+            for (DashboardResponse.AnomalyData a : data) {
+                rates[i] = a.getCount();
+                meanDelays[i] = a.getAvgDelayPerIssue();
+                expectedDelay += rates[i] * meanDelays[i];
+                i++;
+            }
+        }
+
+        int trials = Math.max(1, properties.trials());
+        SplittableRandom root = new SplittableRandom(properties.seed());
+        List<DeliveryRiskResponse.OrderRisk> orders = new ArrayList<>();
+        for (DeliveryRiskProperties.Order order : properties.orders()) {
+            double[] delays = new double[trials];
+            ForkJoinPool.commonPool().invoke(new TrialTask(delays, 0, trials, root.split(),
+                    rates, meanDelays, order.workloadFactor()));
+            Arrays.parallelSort(delays);
+            orders.add(summarize(order, delays));
+        }
+
+        return DeliveryRiskResponse.builder()
+                .trials(trials)
+                .expectedDelayHours(Math.round(expectedDelay * 100.0) / 100.0)
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .orders(orders)
+                .build();
+    }
+
+    private static DeliveryRiskResponse.OrderRisk summarize(DeliveryRiskProperties.Order order, double[] sortedDelays) {
+        LocalDateTime planned = order.plannedCompletion();
+        double slackHours = Duration.between(planned, order.deadline()).toMinutes() / 60.0;
+        // First trial that finishes after the deadline; everything from there on misses it
+        int onTime = upperBound(sortedDelays, slackHours);
+        return DeliveryRiskResponse.OrderRisk.builder()
+                .orderId(order.id())
+                .plannedCompletion(planned)
+                .deadline(order.deadline())
+                .p50(plusHours(planned, percentile(sortedDelays, 0.50)))
+                .p90(plusHours(planned, percentile(sortedDelays, 0.90)))
+                .p99(plusHours(planned, percentile(sortedDelays, 0.99)))
+                .missProbability((double) (sortedDelays.length - onTime) / sortedDelays.length)
+                .build();
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static LocalDateTime plusHours(LocalDateTime time, double hours) {
+        return time.plusSeconds(Math.round(hours * 3600));
+    }
+
+    private static final class TrialTask extends RecursiveAction {
+        private final double[] delays;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+        private final double[] rates;
+        private final double[] meanDelays;
+        private final double workloadFactor;
+
+        TrialTask(double[] delays, int from, int to, SplittableRandom random,
+                double[] rates, double[] meanDelays, double workloadFactor) {
+            this.delays = delays;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.rates = rates;
+            this.meanDelays = meanDelays;
+            this.workloadFactor = workloadFactor;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_TRIALS) {
+                for (int t = from; t < to; t++) {
+                    double total = 0;
+                    for (int s = 0; s < rates.length; s++) {
+                        int events = poisson(random, rates[s] * workloadFactor);
+                        total += gamma(random, events, meanDelays[s]);
+                    }
+                    delays[t] = total;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TrialTask(delays, from, mid, random.split(), rates, meanDelays, workloadFactor),
+                    new TrialTask(delays, mid, to, random.split(), rates, meanDelays, workloadFactor));
+        }
+    }
+
+    static int poisson(SplittableRandom random, double lambda) {
+        if (lambda <= 0) {
+            return 0;
+        }
+        if (lambda > POISSON_NORMAL_THRESHOLD) {
+            return (int) Math.max(0, Math.round(lambda + Math.sqrt(lambda) * random.nextGaussian()));
+        }
+        double limit = Math.exp(-lambda);
+        double product = random.nextDouble();
+        int events = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            events++;
+        }
+        return events;
+    }
+
+    /**
+     * Sum of {@code events} exponential delays with the given mean.
+     */
+    static double gamma(SplittableRandom random, int events, double mean) {
+        if (events == 0 || mean <= 0) {
+            return 0;
+        }
+        if (events > GAMMA_NORMAL_THRESHOLD) {
+            return Math.max(0, mean * (events + Math.sqrt(events) * random.nextGaussian()));
+        }
+        double total = 0;
+        for (int e = 0; e < events; e++) {
+            total -= Math.log(1.0 - random.nextDouble());
+        }
+        return total * mean;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.Anomaly;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.service.DashboardChangeTracker.Section;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Periodically writes the counter deltas from {@link ProcessCounters} to the process and anomaly
+ * rows. Each row gets one relative {@code count = count + ?} update per flush, sent as a JDBC
+ * batch, so no row is read or held locked for longer than that statement.
+ * {@link #flushWith} lets a caller commit the counts together with its own writes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DetectorFlushService {
+
+    private static final String UPDATE_PROCESS = "update processes set normal_count = normal_count + ?, "
+            + "warning_count = warning_count + ?, anomaly_count = anomaly_count + ? "
+            + "where plant = ? and line = ? and name = ?";
+    private static final String INSERT_PROCESS = "insert into processes "
+            + "(plant, line, name, status, normal_count, warning_count, anomaly_count) values (?, ?, ?, ?, ?, ?, ?)";
+    // Every SET expression sees the old row, so the mean is folded with the old count
+    private static final String UPDATE_ANOMALY = "update anomalies set avg_delay = (avg_delay * count + ?) / (count + ?), "
+            + "count = count + ? where id = (select min(a.id) from anomalies a "
+            + "where a.plant = ? and a.line = ? and a.process_name = ? and a.type = ?)";
+    private static final String INSERT_ANOMALY = "insert into anomalies "
+            + "(plant, line, process_name, type, count, avg_delay) values (?, ?, ?, ?, ?, ?)";
+
+    private final ProcessCounters processCounters;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardChangeTracker changeTracker;
+    private final EntityCacheEvictor entityCacheEvictor;
+    // One drain in flight at a time; ProcessCounters holds a single in-flight batch
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Scheduled(fixedDelayString = "${app.detector.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code detection} and writes the counts it records in one transaction with {@code work},
+     * so they commit or roll back together. Counts recorded before are flushed on their own first.
+     * On rollback the new counts are dropped rather than restored: the caller replays the input
+     * that produced them. Only for callers that are the sole source of detector input while this
+     * runs, such as {@link TelemetryJournalApplier}.
+     */
+    public void flushWith(Runnable detection, Runnable work) {
+        flushLock.lock();
+        try {
+            if (!flushPending()) {
+                throw new IllegalStateException("Earlier detector counts are not flushed yet");
+            }
+            detection.run();
+            List<ProcessDelta> deltas = processCounters.drain();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    work.run();
+                    write(deltas);
+                });
+            } catch (RuntimeException e) {
+                processCounters.discard();
+                throw e;
+            }
+            processCounters.completed();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns false when the deltas could not be written and went back to the live counters.
+     */
+    private boolean flushPending() {
+        List<ProcessDelta> deltas = processCounters.drain();
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(deltas));
+            processCounters.completed();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush detector counters, will retry: {}", e.getMessage());
+            processCounters.restore(deltas);
+            return false;
+        }
+    }
+
+    private void write(List<ProcessDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Long> processIds = applyProcessCounts(deltas);
+        List<Long> anomalyIds = applyEpisodes(deltas);
+        entityCacheEvictor.evictAfterCommit(ProcessEntity.class, processIds, "process-queries");
+        entityCacheEvictor.evictAfterCommit(Anomaly.class, anomalyIds, "anomaly-queries");
+        deltas.stream().map(ProcessDelta::getPartition).distinct().forEach(partition -> {
+            changeTracker.markChangedAfterCommit(partition, Section.PROCESS);
+            changeTracker.markChangedAfterCommit(partition, Section.ANOMALY);
+        });
+    }
+
+    /**
+     * Returns the ids of the updated rows, so only those are evicted from the entity cache.
+     */
+    private List<Long> applyProcessCounts(List<ProcessDelta> deltas) {
+        List<ProcessDelta> changed = deltas.stream()
+                .filter(d -> d.getNormal() != 0 || d.getWarning() != 0 || d.getAnomaly() != 0)
+                .toList();
+        List<Object[]> updates = new ArrayList<>(changed.size());
+        for (ProcessDelta delta : changed) {
+            PlantLine partition = delta.getPartition();
+            updates.add(new Object[] { delta.getNormal(), delta.getWarning(), delta.getAnomaly(),
+                    partition.plant(), partition.line(), delta.getProcessName() });
+        }
+        int[] updated = batch(UPDATE_PROCESS, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < changed.size(); i++) {
+            if (updated[i] == 0) {
+                ProcessDelta delta = changed.get(i);
+                inserts.add(new Object[] { delta.getPartition().plant(), delta.getPartition().line(),
+                        delta.getProcessName(), "정상", delta.getNormal(), delta.getWarning(), delta.getAnomaly() });
+            }
+        }
+        batch(INSERT_PROCESS, inserts);
+
+        Map<PlantLine, Set<String>> updatedNames = new LinkedHashMap<>();
+        for (int i = 0; i < changed.size(); i++) {
+            if (updated[i] != 0) {
+                ProcessDelta delta = changed.get(i);
+                updatedNames.computeIfAbsent(delta.getPartition(), p -> new HashSet<>()).add(delta.getProcessName());
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        updatedNames.forEach((partition, names) -> jdbcTemplate.query(
+                "select id, name from processes where plant = ? and line = ?", row -> {
+                    if (names.contains(row.getString(2))) {
+                        ids.add(row.getLong(1));
+                    }
+                }, partition.plant(), partition.line()));
+        return ids;
+    }
+
+    private List<Long> applyEpisodes(List<ProcessDelta> deltas) {
+        List<Object[]> keys = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (ProcessDelta delta : deltas) {
+            addEpisodes(delta, "anomaly", delta.getAnomalyEpisodes(), delta.getAnomalyDelayHours(), keys, updates);
+            addEpisodes(delta, "warning", delta.getWarningEpisodes(), delta.getWarningDelayHours(), keys, updates);
+        }
+        int[] updated = batch(UPDATE_ANOMALY, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (updated[i] == 0) {
+                inserts.add(keys.get(i));
+            }
+        }
+        batch(INSERT_ANOMALY, inserts);
+
+        // The update targets the lowest id per process and type, which is what this query returns
+        Map<PlantLine, Set<List<String>>> updatedKeys = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (updated[i] != 0) {
+                Object[] key = keys.get(i);
+                updatedKeys.computeIfAbsent(new PlantLine((String) key[0], (String) key[1]), p -> new HashSet<>())
+                        .add(List.of((String) key[2], (String) key[3]));
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        updatedKeys.forEach((partition, processTypes) -> jdbcTemplate.query(
+                "select min(id), process_name, type from anomalies where plant = ? and line = ? "
+                        + "group by process_name, type", row -> {
+                    if (processTypes.contains(Arrays.asList(row.getString(2), row.getString(3)))) {
+                        ids.add(row.getLong(1));
+                    }
+                }, partition.plant(), partition.line()));
+        return ids;
+    }
+
+    private static void addEpisodes(ProcessDelta delta, String type, long episodes, double delayHours,
+            List<Object[]> keys, List<Object[]> updates) {
+        if (episodes == 0) {
+            return;
+        }
+        PlantLine partition = delta.getPartition();
+        updates.add(new Object[] { delayHours, episodes, episodes,
+                partition.plant(), partition.line(), delta.getProcessName(), type });
+        keys.add(new Object[] { partition.plant(), partition.line(), delta.getProcessName(), type, episodes,
+                delayHours / episodes });
+    }
+
+    private int[] batch(String sql, List<Object[]> rows) {
+        return rows.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(sql, rows);
+    }
+}
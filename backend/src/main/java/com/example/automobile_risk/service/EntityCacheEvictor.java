@@ -0,0 +1,49 @@
+package com.example.automobile_risk.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Drops second-level and query cache entries for tables written with plain JDBC, which Hibernate
+ * cannot see. Must be called for every such write, or cached reads keep serving the old rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evicts the given rows and the query region once the surrounding transaction commits, or
+     * immediately without one. Inserted rows cannot be cached yet, so only the ids of updated or
+     * deleted rows need to be passed.
+     */
+    public void evictAfterCommit(Class<?> entityClass, Collection<?> ids, String queryRegion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(entityClass, ids, queryRegion);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(entityClass, ids, queryRegion);
+            }
+        });
+    }
+
+    public void evict(Class<?> entityClass, Collection<?> ids, String queryRegion) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Object id : ids) {
+            cache.evictEntityData(entityClass, id);
+        }
+        // Cached results cannot be matched to rows, so the region goes as a whole
+        cache.evictQueryRegion(queryRegion);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.automobile_risk.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling. Keeps the first and last point and, for every
+ * bucket in between, the point forming the largest triangle with the previously kept point and
+ * the average of the next bucket, which preserves peaks and dips a plain average would flatten.
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    static <T> List<T> downsample(List<T> points, int threshold, ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        int size = points.size();
+        if (threshold >= size || threshold < 3) {
+            return points;
+        }
+
+        List<T> sampled = new ArrayList<>(threshold);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int a = 0;
+        sampled.add(points.get(0));
+
+        for (int i = 0; i < threshold - 2; i++) {
+            int nextStart = (int) Math.floor((i + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((i + 2) * bucketSize) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += x.applyAsDouble(points.get(j));
+                avgY += y.applyAsDouble(points.get(j));
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            int start = (int) Math.floor(i * bucketSize) + 1;
+            int end = nextStart;
+            double ax = x.applyAsDouble(points.get(a));
+            double ay = y.applyAsDouble(points.get(a));
+            double maxArea = -1;
+            int chosen = start;
+            for (int j = start; j < end; j++) {
+                double px = x.applyAsDouble(points.get(j));
+                double py = y.applyAsDouble(points.get(j));
+                double area = Math.abs((ax - avgX) * (py - ay) - (ax - px) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+            sampled.add(points.get(chosen));
+            a = chosen;
+        }
+
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.Post;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post title and content. Text is split on non letter/digit
+ * characters and each token is indexed as overlapping character bigrams, which works for Korean
+ * without a morphological analyzer ("차체 조립" matches "차체조립라인"). Single-character tokens
+ * are indexed as unigrams. Hits are ranked with BM25; title terms count twice.
+ */
+class PostSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_QUERY_TERMS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByPostId = new HashMap<>();
+    private long[] postIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int maxDoc;
+    private int liveDocs;
+    private long totalLength;
+
+    record Hit(long postId, float score) {
+    }
+
+    record Result(List<Hit> hits, int total) {
+    }
+
+    void add(Post post) {
+        Map<String, Integer> frequencies = termFrequencies(post);
+        lock.writeLock().lock();
+        try {
+            if (docByPostId.containsKey(post.getId())) {
+                return;
+            }
+            int doc = maxDoc++;
+            if (doc == postIds.length) {
+                postIds = Arrays.copyOf(postIds, doc * 2);
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            postIds[doc] = post.getId();
+            docLengths[doc] = length;
+            docByPostId.put(post.getId(), doc);
+            liveDocs++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Post post) {
+        Map<String, Integer> frequencies = termFrequencies(post);
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByPostId.remove(post.getId());
+            if (doc == null) {
+                return;
+            }
+            for (String term : frequencies.keySet()) {
+                Postings list = postings.get(term);
+                if (list != null && list.remove(doc) && list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            postIds[doc] = -1; // guards against postings that were not found above
+            liveDocs--;
+            totalLength -= docLengths[doc];
+            docLengths[doc] = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Result search(String query, int offset, int limit, double minShouldMatch) {
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return new Result(List.of(), 0);
+            }
+            float[] scores = new float[maxDoc];
+            byte[] matched = new byte[maxDoc];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            float avgLength = (float) totalLength / liveDocs;
+
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (liveDocs - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (postIds[doc] < 0) {
+                        continue;
+                    }
+                    int tf = list.freqs[i];
+                    float norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLengths[doc] / avgLength));
+                    if (matched[doc]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = doc;
+                    }
+                    scores[doc] += idf * norm;
+                }
+            }
+
+            int required = Math.max(1, (int) Math.ceil(terms.size() * minShouldMatch));
+            int keep = offset + limit;
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, keep), (a, b) -> compare(scores, a, b));
+            int total = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (matched[doc] < required) {
+                    continue;
+                }
+                total++;
+                if (keep == 0) {
+                    continue;
+                }
+                if (top.size() < keep) {
+                    top.add(doc);
+                } else if (compare(scores, doc, top.peek()) > 0) {
+                    top.poll();
+                    top.add(doc);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int doc = top.poll();
+                ranked.add(new Hit(postIds[doc], scores[doc]));
+            }
+            List<Hit> page = new ArrayList<>(limit);
+            for (int i = ranked.size() - 1 - offset; i >= 0; i--) {
+                page.add(ranked.get(i));
+            }
+            return new Result(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Orders by score, then prefers newer documents on ties
+    private static int compare(float[] scores, int a, int b) {
+        int byScore = Float.compare(scores[a], scores[b]);
+        return byScore != 0 ? byScore : Integer.compare(a, b);
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Lower-cases char by char as {@link #tokens} does, so offsets in the result match the input;
+     * {@link String#toLowerCase} may change the length, as it does for 'İ'.
+     */
+    static String lowerCase(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static void addGrams(String text, int weight, Map<String, Integer> frequencies) {
+        for (String token : tokens(text)) {
+            if (token.length() == 1) {
+                frequencies.merge(token, weight, Integer::sum);
+                continue;
+            }
+            for (int i = 0; i + 2 <= token.length(); i++) {
+                frequencies.merge(token.substring(i, i + 2), weight, Integer::sum);
+            }
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(Post post) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addGrams(post.getTitle(), TITLE_WEIGHT, frequencies);
+        addGrams(post.getContent(), 1, frequencies);
+        return frequencies;
+    }
+
+    // The first terms of the query when it has too many, not an arbitrary subset
+    static List<String> queryTerms(String query) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        addGrams(query, 1, frequencies);
+        List<String> terms = new ArrayList<>(frequencies.keySet());
+        return terms.size() > MAX_QUERY_TERMS ? terms.subList(0, MAX_QUERY_TERMS) : terms;
+    }
+
+    /** Doc-ordered posting list; doc ordinals only grow, so appends keep it sorted. */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        private boolean remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            System.arraycopy(freqs, index + 1, freqs, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.PostSearchResponse;
+import com.example.automobile_risk.entity.Post;
+import com.example.automobile_risk.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostSearchService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int LOAD_BATCH = 1000;
+    private static final int SNIPPET_RADIUS = 40;
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex index = new PostSearchIndex();
+
+    @Value("${app.search.min-should-match:0.75}")
+    private double minShouldMatch;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        List<Post> batch;
+        do {
+            batch = postRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH));
+            batch.forEach(index::add);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == LOAD_BATCH);
+        log.info("Indexed {} posts for search in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    public void onPostCreated(Post post) {
+        index.add(post);
+    }
+
+    public void onPostDeleted(Post post) {
+        index.remove(post);
+    }
+
+    public PostSearchResponse search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(0, page);
+        PostSearchIndex.Result result = index.search(query, pageIndex * pageSize, pageSize, minShouldMatch);
+
+        List<Long> ids = result.hits().stream().map(PostSearchIndex.Hit::postId).toList();
+        Map<Long, Post> posts = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<String> tokens = PostSearchIndex.tokens(query);
+
+        List<PostSearchResponse.Hit> hits = new ArrayList<>(ids.size());
+        for (PostSearchIndex.Hit hit : result.hits()) {
+            Post post = posts.get(hit.postId());
+            if (post == null) {
+                continue; // deleted between search and load
+            }
+            hits.add(PostSearchResponse.Hit.builder()
+                    .id(post.getId())
+                    .title(highlight(post.getTitle(), tokens, 0, post.getTitle() == null ? 0 : post.getTitle().length()))
+                    .snippet(snippet(post.getContent(), tokens))
+                    .score((double) hit.score())
+                    .authorName(post.getAuthorName())
+                    .createdAt(post.getCreatedAt())
+                    .build());
+        }
+        return PostSearchResponse.builder()
+                .hits(hits)
+                .total(result.total())
+                .page(pageIndex)
+                .size(pageSize)
+                .build();
+    }
+
+    static String snippet(String content, List<String> tokens) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String lower = PostSearchIndex.lowerCase(content);
+        int first = -1;
+        for (String token : tokens) {
+            int at = lower.indexOf(token);
+            if (at >= 0 && (first < 0 || at < first)) {
+                first = at;
+            }
+        }
+        int from = Math.max(0, (first < 0 ? 0 : first) - SNIPPET_RADIUS);
+        int to = Math.min(content.length(), from + SNIPPET_RADIUS * 3);
+        return (from > 0 ? "…" : "") + highlight(content, tokens, from, to) + (to < content.length() ? "…" : "");
+    }
+
+    // Escapes the text and wraps whole query tokens found in it with <mark>
+    private static String highlight(String text, List<String> tokens, int from, int to) {
+        if (text == null) {
+            return null;
+        }
+        String lower = PostSearchIndex.lowerCase(text);
+        StringBuilder out = new StringBuilder();
+        int i = from;
+        while (i < to) {
+            String match = null;
+            for (String token : tokens) {
+                if (lower.startsWith(token, i) && (match == null || token.length() > match.length())) {
+                    match = token;
+                }
+            }
+            if (match == null) {
+                out.append(HtmlUtils.htmlEscape(String.valueOf(text.charAt(i))));
+                i++;
+            } else {
+                int end = Math.min(to, i + match.length());
+                out.append("<mark>").append(HtmlUtils.htmlEscape(text.substring(i, end))).append("</mark>");
+                i = end;
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.service.DashboardChangeTracker.Section;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind event counters per plant line and process. Increments go to striped adders and take
+ * no locks; {@link DetectorFlushService} periodically drains them into batched relative updates.
+ * Until a drained batch has committed it stays visible through {@link #pending(PlantLine)}, so
+ * dashboard reads never see counts dip between the drain and the commit. Moving counts between the
+ * adders and the in-flight batch happens under a write lock that {@code pending} reads under, so a
+ * reader sees every count in exactly one of the two places.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcessCounters {
+
+    private final DashboardChangeTracker changeTracker;
+
+    private final ConcurrentHashMap<PlantLine, ConcurrentHashMap<String, Counter>> partitions =
+            new ConcurrentHashMap<>();
+    // Drained but not yet committed; written only under the write lock
+    private volatile List<ProcessDelta> inFlight = List.of();
+    private final ReentrantReadWriteLock transferLock = new ReentrantReadWriteLock();
+
+    /**
+     * Live counters for one process. Callers keep the reference, so recording an event is a
+     * single adder increment.
+     */
+    public final class Counter {
+        private final PlantLine partition;
+        private final String processName;
+        private final LongAdder normal = new LongAdder();
+        private final LongAdder warning = new LongAdder();
+        private final LongAdder anomaly = new LongAdder();
+        private final LongAdder warningEpisodes = new LongAdder();
+        private final DoubleAdder warningDelayHours = new DoubleAdder();
+        private final LongAdder anomalyEpisodes = new LongAdder();
+        private final DoubleAdder anomalyDelayHours = new DoubleAdder();
+
+        private Counter(PlantLine partition, String processName) {
+            this.partition = partition;
+            this.processName = processName;
+        }
+
+        public void normal() {
+            normal.increment();
+            changeTracker.markPending(partition, Section.LIVE);
+        }
+
+        public void warning() {
+            warning.increment();
+            changeTracker.markPending(partition, Section.LIVE);
+        }
+
+        public void anomaly() {
+            anomaly.increment();
+            changeTracker.markPending(partition, Section.LIVE);
+        }
+
+        public void warningEpisode(double delayHours) {
+            warningDelayHours.add(delayHours);
+            warningEpisodes.increment();
+            changeTracker.markPending(partition, Section.LIVE);
+        }
+
+        public void anomalyEpisode(double delayHours) {
+            anomalyDelayHours.add(delayHours);
+            anomalyEpisodes.increment();
+            changeTracker.markPending(partition, Section.LIVE);
+        }
+
+        private ProcessDelta read(boolean reset) {
+            ProcessDelta delta = new ProcessDelta(partition, processName);
+            // Adders are read one by one; an increment racing a drain lands in this drain or the next
+            delta.normal = reset ? normal.sumThenReset() : normal.sum();
+            delta.warning = reset ? warning.sumThenReset() : warning.sum();
+            delta.anomaly = reset ? anomaly.sumThenReset() : anomaly.sum();
+            delta.warningEpisodes = reset ? warningEpisodes.sumThenReset() : warningEpisodes.sum();
+            delta.warningDelayHours = reset ? warningDelayHours.sumThenReset() : warningDelayHours.sum();
+            delta.anomalyEpisodes = reset ? anomalyEpisodes.sumThenReset() : anomalyEpisodes.sum();
+            delta.anomalyDelayHours = reset ? anomalyDelayHours.sumThenReset() : anomalyDelayHours.sum();
+            return delta;
+        }
+
+        private void add(ProcessDelta delta) {
+            normal.add(delta.normal);
+            warning.add(delta.warning);
+            anomaly.add(delta.anomaly);
+            warningEpisodes.add(delta.warningEpisodes);
+            warningDelayHours.add(delta.warningDelayHours);
+            anomalyEpisodes.add(delta.anomalyEpisodes);
+            anomalyDelayHours.add(delta.anomalyDelayHours);
+        }
+    }
+
+    public Counter counter(PlantLine partition, String processName) {
+        return partitions.computeIfAbsent(partition, p -> new ConcurrentHashMap<>())
+                .computeIfAbsent(processName, name -> new Counter(partition, name));
+    }
+
+    /**
+     * Takes the deltas accumulated since the last drain and holds them as in flight until
+     * {@link #completed()}, {@link #discard()} or {@link #restore(Collection)} is called.
+     */
+    public List<ProcessDelta> drain() {
+        List<ProcessDelta> deltas = new ArrayList<>();
+        transferLock.writeLock().lock();
+        try {
+            for (Map<String, Counter> counters : partitions.values()) {
+                for (Counter counter : counters.values()) {
+                    ProcessDelta delta = counter.read(true);
+                    if (!delta.isEmpty()) {
+                        deltas.add(delta);
+                    }
+                }
+            }
+            inFlight = List.copyOf(deltas);
+        } finally {
+            transferLock.writeLock().unlock();
+        }
+        return deltas;
+    }
+
+    /**
+     * The drained deltas are now in the database.
+     */
+    public void completed() {
+        List<ProcessDelta> completed = inFlight;
+        inFlight = List.of();
+        markLiveChanged(completed);
+    }
+
+    /**
+     * Drops the drained deltas without writing them, for a caller that will count the same events
+     * again.
+     */
+    public void discard() {
+        completed();
+    }
+
+    /**
+     * Puts deltas that failed to persist back into the live counters.
+     */
+    public void restore(Collection<ProcessDelta> deltas) {
+        transferLock.writeLock().lock();
+        try {
+            for (ProcessDelta delta : deltas) {
+                counter(delta.getPartition(), delta.getProcessName()).add(delta);
+            }
+            inFlight = List.of();
+        } finally {
+            transferLock.writeLock().unlock();
+        }
+        markLiveChanged(deltas);
+    }
+
+    private void markLiveChanged(Collection<ProcessDelta> deltas) {
+        deltas.stream().map(ProcessDelta::getPartition).distinct()
+                .forEach(partition -> changeTracker.markChanged(partition, Section.LIVE));
+    }
+
+    /**
+     * Counts of one plant line that are not in the database yet, by process name.
+     */
+    public Map<String, ProcessDelta> pending(PlantLine partition) {
+        Map<String, ProcessDelta> pending = new HashMap<>();
+        Map<String, Counter> counters = partitions.get(partition);
+        transferLock.readLock().lock();
+        try {
+            if (counters != null) {
+                for (Counter counter : counters.values()) {
+                    ProcessDelta delta = counter.read(false);
+                    if (!delta.isEmpty()) {
+                        pending.put(counter.processName, delta);
+                    }
+                }
+            }
+            for (ProcessDelta delta : inFlight) {
+                if (delta.getPartition().equals(partition)) {
+                    pending.computeIfAbsent(delta.getProcessName(), name -> new ProcessDelta(partition, name))
+                            .merge(delta);
+                }
+            }
+        } finally {
+            transferLock.readLock().unlock();
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.PlantLine;
+import lombok.Getter;
+
+/**
+ * Counter changes for one process that have been observed but not yet written to the database.
+ */
+@Getter
+public class ProcessDelta {
+
+    private final PlantLine partition;
+    private final String processName;
+    long normal;
+    long warning;
+    long anomaly;
+    long warningEpisodes;
+    double warningDelayHours;
+    long anomalyEpisodes;
+    double anomalyDelayHours;
+
+    ProcessDelta(PlantLine partition, String processName) {
+        this.partition = partition;
+        this.processName = processName;
+    }
+
+    boolean isEmpty() {
+        return normal == 0 && warning == 0 && anomaly == 0 && warningEpisodes == 0 && anomalyEpisodes == 0;
+    }
+
+    void merge(ProcessDelta other) {
+        normal += other.normal;
+        warning += other.warning;
+        anomaly += other.anomaly;
+        warningEpisodes += other.warningEpisodes;
+        warningDelayHours += other.warningDelayHours;
+        anomalyEpisodes += other.anomalyEpisodes;
+        anomalyDelayHours += other.anomalyDelayHours;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.RefreshToken;
+import com.example.automobile_risk.entity.RefreshToken.RevokedReason;
+import com.example.automobile_risk.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues and rotates refresh tokens. Each refresh revokes the presented token and issues a new
+ * one; presenting a token that was already rotated is treated as theft and revokes the user's whole
+ * chain. A token presented after logout is only rejected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${app.jwt.refresh.expiration-ms:1209600000}")
+    private long refreshExpirationMs;
+
+    @Transactional
+    public String issue(String username) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .username(username)
+                .createdAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(refreshExpirationMs)))
+                .build());
+        return token;
+    }
+
+    /**
+     * Revokes the token and returns the username it was issued to, for the caller to issue a new pair.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public String consume(String token) {
+        RefreshToken stored = token == null ? null : refreshTokenRepository.findByTokenHash(hash(token)).orElse(null);
+        if (stored == null || stored.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        if (stored.isRevoked()) {
+            // A logged-out token is merely stale; only a rotated one can have been copied
+            if (stored.getRevokedReason() == null || stored.getRevokedReason() == RevokedReason.ROTATED) {
+                int revoked = refreshTokenRepository.revokeAllByUsername(stored.getUsername(),
+                        RevokedReason.REUSE_DETECTED);
+                log.warn("Reused refresh token for {}, revoked {} active tokens", stored.getUsername(), revoked);
+            }
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        revoke(stored, RevokedReason.ROTATED);
+        return stored.getUsername();
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        if (token != null) {
+            refreshTokenRepository.findByTokenHash(hash(token))
+                    .filter(t -> !t.isRevoked())
+                    .ifPresent(t -> revoke(t, RevokedReason.LOGGED_OUT));
+        }
+    }
+
+    private static void revoke(RefreshToken token, RevokedReason reason) {
+        token.setRevoked(true);
+        token.setRevokedReason(reason);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.jwt.refresh.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
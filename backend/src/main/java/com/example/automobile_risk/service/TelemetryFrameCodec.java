@@ -0,0 +1,78 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.TelemetrySignal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary wire format for telemetry samples, the compact alternative to the JSON batch. A request
+ * body is a run of big-endian frames:
+ *
+ * <pre>
+ * frame := length:u16 processId:i32 signal:u8 epochMillis:i64 value:f64
+ * </pre>
+ *
+ * {@code length} counts the bytes after it. Decoders read the fixed fields and skip anything
+ * beyond them, so fields can later be appended without breaking older servers.
+ */
+public final class TelemetryFrameCodec {
+
+    public static final String MEDIA_TYPE = "application/x-telemetry-frames";
+    public static final int BODY_LENGTH = 4 + 1 + 8 + 8;
+    public static final int FRAME_LENGTH = 2 + BODY_LENGTH;
+
+    private static final TelemetrySignal[] SIGNALS = TelemetrySignal.values();
+
+    @FunctionalInterface
+    public interface FrameHandler {
+        void frame(int processId, TelemetrySignal signal, long epochMillis, double value);
+    }
+
+    private TelemetryFrameCodec() {
+    }
+
+    public static void encode(ByteBuffer buffer, int processId, TelemetrySignal signal, long epochMillis,
+            double value) {
+        buffer.putShort((short) BODY_LENGTH)
+                .putInt(processId)
+                .put((byte) signal.ordinal())
+                .putLong(epochMillis)
+                .putDouble(value);
+    }
+
+    /**
+     * Hands every frame between the buffer's position and limit to {@code handler} without
+     * allocating per frame, and returns the number of frames.
+     *
+     * @throws IllegalArgumentException if a frame is truncated or malformed
+     */
+    public static int decode(ByteBuffer buffer, FrameHandler handler) {
+        int frames = 0;
+        while (buffer.hasRemaining()) {
+            if (buffer.remaining() < 2) {
+                throw malformed(frames, "truncated length");
+            }
+            int length = Short.toUnsignedInt(buffer.getShort());
+            if (length < BODY_LENGTH) {
+                throw malformed(frames, "length " + length + " is shorter than " + BODY_LENGTH);
+            }
+            if (buffer.remaining() < length) {
+                throw malformed(frames, "truncated frame");
+            }
+            int end = buffer.position() + length;
+            int processId = buffer.getInt();
+            int signal = Byte.toUnsignedInt(buffer.get());
+            if (signal >= SIGNALS.length) {
+                throw malformed(frames, "unknown signal " + signal);
+            }
+            handler.frame(processId, SIGNALS[signal], buffer.getLong(), buffer.getDouble());
+            buffer.position(end);
+            frames++;
+        }
+        return frames;
+    }
+
+    private static IllegalArgumentException malformed(int frame, String reason) {
+        return new IllegalArgumentException("Malformed telemetry frame " + frame + ": " + reason);
+    }
+}
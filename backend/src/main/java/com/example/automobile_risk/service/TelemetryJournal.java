@@ -0,0 +1,411 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.TelemetryBatchRequest;
+import com.example.automobile_risk.entity.TelemetrySignal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of telemetry readings in memory-mapped segment files. Offsets are byte
+ * positions across all segments; each segment file is named after the offset it starts at.
+ * A record is its payload length, a CRC32C of the payload and the payload; a zero length ends the
+ * data in a segment.
+ * <p>
+ * {@link #append} returns once the records are forced to disk. Concurrent appenders share one
+ * force: whoever takes the sync lock forces everything written so far, and the threads queued
+ * behind it find their records already durable (group commit).
+ */
+@Slf4j
+public class TelemetryJournal implements Closeable {
+
+    public static final String NAME = "telemetry";
+
+    private static final int HEADER = 8;
+    private static final int MIN_SEGMENT_SIZE = 1 << 20;
+    private static final String SUFFIX = ".seg";
+    private static final TelemetrySignal[] SIGNALS = TelemetrySignal.values();
+    private static final int NULL_STRING = 0xFFFF;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    // Guarded by appendLock
+    private long activeBase;
+    private MappedByteBuffer active;
+
+    private volatile long written;
+    private volatile long durable;
+    private volatile long applied;
+    private volatile long lastCorrupt = -1;
+    private final AtomicLong corruptRecords = new AtomicLong();
+
+    public record Batch(List<TelemetryBatchRequest.Reading> readings, long nextOffset) {
+    }
+
+    private TelemetryJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the journal in {@code directory}, dropping segments that are fully applied and any torn
+     * or corrupt tail left by a crash. Reading resumes at {@code appliedOffset}.
+     */
+    public static TelemetryJournal open(Path directory, int segmentSize, long appliedOffset) throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Journal segments must be at least " + MIN_SEGMENT_SIZE + " bytes");
+        }
+        TelemetryJournal journal = new TelemetryJournal(directory, segmentSize);
+        journal.recover(appliedOffset);
+        return journal;
+    }
+
+    private void recover(long appliedOffset) throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), map(file, -1));
+            }
+        }
+
+        long end = -1;
+        for (Map.Entry<Long, MappedByteBuffer> segment : segments.entrySet()) {
+            long base = segment.getKey();
+            MappedByteBuffer buffer = segment.getValue();
+            if (end >= 0) {
+                // Everything after a torn record is lost with it
+                delete(base);
+                continue;
+            }
+            int position = validLength(buffer);
+            if (position <= buffer.capacity() - HEADER && buffer.getInt(position) != 0) {
+                log.warn("Truncating journal segment {} at offset {}", base, base + position);
+                zero(buffer, position);
+                end = base + position;
+            } else if (segments.higherKey(base) == null) {
+                end = base + position;
+            }
+        }
+
+        if (end < appliedOffset) {
+            // Nothing left to replay, or the journal lost records the database already has
+            segments.keySet().forEach(this::delete);
+            end = appliedOffset;
+        }
+        Map.Entry<Long, MappedByteBuffer> last = segments.lastEntry();
+        if (last == null) {
+            activeBase = end;
+            active = createSegment(end);
+        } else {
+            activeBase = last.getKey();
+            active = last.getValue();
+        }
+        written = end;
+        durable = end;
+        release(appliedOffset);
+        log.info("Opened journal {} at offset {}, {} bytes to replay", directory, end, end - appliedOffset);
+    }
+
+    public long getAppliedOffset() {
+        return applied;
+    }
+
+    public long getDurableOffset() {
+        return durable;
+    }
+
+    /**
+     * Records that failed their checksum and were skipped by {@link #read}.
+     */
+    public long getCorruptRecords() {
+        return corruptRecords.get();
+    }
+
+    /**
+     * Writes the readings as one contiguous run of records and waits until they are on disk.
+     * Readings without a timestamp are stamped with {@code receivedAt}.
+     */
+    public void append(List<TelemetryBatchRequest.Reading> readings, LocalDateTime receivedAt) {
+        // Encode and checksum outside the lock; only the copy into the mapped segment is serialized
+        ByteBuffer batch = ByteBuffer.allocate(readings.size() * 64);
+        int[] ends = new int[readings.size()];
+        CRC32C crc = new CRC32C();
+        for (int i = 0; i < readings.size(); i++) {
+            batch = encode(batch, readings.get(i), receivedAt, crc);
+            ends[i] = batch.position();
+        }
+
+        long end;
+        appendLock.lock();
+        try {
+            int start = 0;
+            for (int recordEnd : ends) {
+                int length = recordEnd - start;
+                int position = (int) (written - activeBase);
+                if (position + length > active.capacity()) {
+                    roll();
+                    position = 0;
+                }
+                active.put(position, batch.array(), start, length);
+                written = activeBase + position + length;
+                start = recordEnd;
+            }
+            end = written;
+        } finally {
+            appendLock.unlock();
+        }
+        sync(end);
+    }
+
+    private void roll() {
+        long base = activeBase + active.capacity();
+        try {
+            active = createSegment(base);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        activeBase = base;
+        written = base;
+    }
+
+    private void sync(long offset) {
+        if (durable >= offset) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durable >= offset) {
+                return;
+            }
+            long end = written;
+            long from = durable;
+            for (Map.Entry<Long, MappedByteBuffer> segment : segments.subMap(segments.floorKey(from), true, end, false)
+                    .entrySet()) {
+                long base = segment.getKey();
+                MappedByteBuffer buffer = segment.getValue();
+                int start = (int) Math.max(0, from - base);
+                int stop = (int) Math.min(buffer.capacity(), end - base);
+                if (stop > start) {
+                    buffer.force(start, stop - start);
+                }
+            }
+            durable = end;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code maxRecords} durable records starting at {@code offset}, skipping records
+     * that fail their checksum.
+     */
+    public Batch read(long offset, int maxRecords) {
+        List<TelemetryBatchRequest.Reading> readings = new ArrayList<>();
+        long end = durable;
+        CRC32C crc = new CRC32C();
+        while (offset < end && readings.size() < maxRecords) {
+            Map.Entry<Long, MappedByteBuffer> segment = segments.floorEntry(offset);
+            if (segment == null) {
+                throw new IllegalStateException("Journal offset " + offset + " is no longer available");
+            }
+            MappedByteBuffer buffer = segment.getValue();
+            long segmentEnd = segment.getKey() + buffer.capacity();
+            int position = (int) (offset - segment.getKey());
+            int length = position > buffer.capacity() - HEADER ? 0 : buffer.getInt(position);
+            if (length == 0) {
+                offset = segmentEnd;
+                continue;
+            }
+            boolean fits = length > 0 && length <= buffer.capacity() - HEADER - position;
+            boolean intact = fits;
+            ByteBuffer payload = fits ? buffer.slice(position + HEADER, length) : null;
+            if (fits) {
+                crc.reset();
+                crc.update(payload.duplicate());
+                intact = (int) crc.getValue() == buffer.getInt(position + 4);
+            }
+            if (!intact) {
+                // A record damaged after it was forced would otherwise stop the applier for good.
+                // A bad length may point anywhere; the checksums of the records after it catch that.
+                skipCorrupt(offset);
+                offset = fits ? offset + HEADER + length : segmentEnd;
+                continue;
+            }
+            readings.add(decode(payload));
+            offset += HEADER + length;
+        }
+        return new Batch(readings, offset);
+    }
+
+    private void skipCorrupt(long offset) {
+        // The same range is read again when a batch is retried; count each record once
+        if (offset > lastCorrupt) {
+            lastCorrupt = offset;
+            corruptRecords.incrementAndGet();
+            log.error("Skipping corrupt journal record at offset {}", offset);
+        }
+    }
+
+    /**
+     * Records before {@code offset} are in the database; segments that lie entirely before it are deleted.
+     */
+    public void release(long offset) {
+        applied = offset;
+        for (Map.Entry<Long, MappedByteBuffer> segment : segments.headMap(offset).entrySet()) {
+            long base = segment.getKey();
+            if (base + segment.getValue().capacity() <= offset && segments.higherKey(base) != null) {
+                delete(base);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        sync(written);
+    }
+
+    private MappedByteBuffer createSegment(long base) throws IOException {
+        MappedByteBuffer buffer = map(directory.resolve(String.format("%020d%s", base, SUFFIX)), segmentSize);
+        segments.put(base, buffer);
+        return buffer;
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size < 0 ? channel.size() : size);
+        }
+    }
+
+    private void delete(long base) {
+        segments.remove(base);
+        try {
+            Files.deleteIfExists(directory.resolve(String.format("%020d%s", base, SUFFIX)));
+        } catch (IOException e) {
+            log.warn("Could not delete journal segment {}: {}", base, e.getMessage());
+        }
+    }
+
+    /** Length of the run of intact records at the start of the segment. */
+    private static int validLength(MappedByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        int position = 0;
+        while (position <= buffer.capacity() - HEADER) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - HEADER - position) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + HEADER, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            position += HEADER + length;
+        }
+        return position;
+    }
+
+    private static void zero(MappedByteBuffer buffer, int from) {
+        byte[] zeros = new byte[8192];
+        for (int position = from; position < buffer.capacity(); position += zeros.length) {
+            buffer.put(position, zeros, 0, Math.min(zeros.length, buffer.capacity() - position));
+        }
+        buffer.force();
+    }
+
+    private static ByteBuffer encode(ByteBuffer buffer, TelemetryBatchRequest.Reading reading,
+            LocalDateTime receivedAt, CRC32C crc) {
+        byte[] plant = bytes(reading.getPlant());
+        byte[] line = bytes(reading.getLine());
+        byte[] processName = bytes(reading.getProcessName());
+        int length = 3 * 2 + length(plant) + length(line) + length(processName) + 1 + 8 + 8 + 4;
+        if (buffer.remaining() < HEADER + length) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + HEADER + length));
+            buffer = grown.put(buffer.flip());
+        }
+
+        int start = buffer.position();
+        buffer.position(start + HEADER);
+        putString(buffer, plant);
+        putString(buffer, line);
+        putString(buffer, processName);
+        LocalDateTime recordedAt = reading.getRecordedAt() != null ? reading.getRecordedAt() : receivedAt;
+        buffer.put((byte) reading.getSignal().ordinal())
+                .putDouble(reading.getValue())
+                .putLong(recordedAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(recordedAt.getNano());
+        crc.reset();
+        crc.update(buffer.array(), start + HEADER, length);
+        buffer.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+        return buffer;
+    }
+
+    private static TelemetryBatchRequest.Reading decode(ByteBuffer payload) {
+        return TelemetryBatchRequest.Reading.builder()
+                .plant(getString(payload))
+                .line(getString(payload))
+                .processName(getString(payload))
+                .signal(SIGNALS[payload.get()])
+                .value(payload.getDouble())
+                .recordedAt(LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("Value too long for the journal: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) NULL_STRING);
+        } else {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.TelemetryBatchRequest;
+import com.example.automobile_risk.entity.JournalCheckpoint;
+import com.example.automobile_risk.repository.JournalCheckpointRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the telemetry journal into the database in batches. The readings of a batch, the detector
+ * counts they produce and the checkpoint after them commit in one transaction; when it fails, the
+ * detector state of the batch's processes is restored as well. After a crash or a failed batch the
+ * journal is replayed from the checkpoint and every reading is stored and counted exactly once.
+ * <p>
+ * A batch the database rejects for its content is applied one reading at a time, and readings it
+ * rejects on their own are logged and skipped, so one bad record cannot stall the journal. Other
+ * failures are retried. The lag, failures and skipped records are exported as metrics.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.journal.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TelemetryJournalApplier {
+
+    private final TelemetryJournal journal;
+    private final TelemetryService telemetryService;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final DetectorFlushService detectorFlushService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.journal.apply-batch-size:5000}")
+    private int batchSize;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("telemetry.journal.lag", journal, j -> j.getDurableOffset() - j.getAppliedOffset())
+                .baseUnit("bytes")
+                .description("Journaled telemetry not yet in the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("telemetry.journal.corrupt.records", journal, TelemetryJournal::getCorruptRecords)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.journal.apply-interval-ms:100}")
+    public void apply() {
+        try {
+            while (true) {
+                TelemetryJournal.Batch batch = journal.read(journal.getAppliedOffset(), batchSize);
+                if (batch.readings().isEmpty()) {
+                    return;
+                }
+                try {
+                    applyBatch(batch);
+                } catch (RuntimeException e) {
+                    if (!isRejected(e)) {
+                        throw e;
+                    }
+                    log.warn("Database rejected a journal batch, applying it one reading at a time: {}",
+                            e.getMessage());
+                    applyOneByOne(batch.nextOffset());
+                }
+                journal.release(batch.nextOffset());
+            }
+        } catch (RuntimeException e) {
+            meterRegistry.counter("telemetry.journal.apply.failures").increment();
+            log.warn("Failed to apply telemetry journal, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void applyBatch(TelemetryJournal.Batch batch) {
+        AnomalyDetector.Snapshot detectorState = telemetryService.snapshotDetector(batch.readings());
+        try {
+            detectorFlushService.flushWith(() -> telemetryService.detect(batch.readings(), null), () -> {
+                telemetryService.persist(batch.readings(), null);
+                checkpointRepository.save(new JournalCheckpoint(TelemetryJournal.NAME, batch.nextOffset()));
+            });
+        } catch (RuntimeException e) {
+            detectorState.restore();
+            throw e;
+        }
+    }
+
+    private void applyOneByOne(long end) {
+        long offset = journal.getAppliedOffset();
+        while (offset < end) {
+            TelemetryJournal.Batch single = journal.read(offset, 1);
+            if (single.readings().isEmpty()) {
+                return;
+            }
+            try {
+                applyBatch(single);
+            } catch (RuntimeException e) {
+                if (!isRejected(e)) {
+                    throw e;
+                }
+                TelemetryBatchRequest.Reading reading = single.readings().get(0);
+                log.error("Skipping journal record at offset {} ({}/{}/{} {}) rejected by the database: {}", offset,
+                        reading.getPlant(), reading.getLine(), reading.getProcessName(), reading.getSignal(),
+                        e.getMessage());
+                meterRegistry.counter("telemetry.journal.skipped.records").increment();
+                checkpointRepository.save(new JournalCheckpoint(TelemetryJournal.NAME, single.nextOffset()));
+            }
+            journal.release(single.nextOffset());
+            offset = single.nextOffset();
+        }
+    }
+
+    // Rejected for its content: retrying the same rows can never succeed
+    private static boolean isRejected(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException
+                    || cause instanceof DataException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
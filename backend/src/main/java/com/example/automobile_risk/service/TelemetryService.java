@@ -0,0 +1,252 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.TelemetryBatchRequest;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.entity.TelemetryReading;
+import com.example.automobile_risk.repository.ProcessRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class TelemetryService {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    // Same cap as the JSON batch
+    public static final int MAX_FRAMES = 50_000;
+    // Years 1 to 9999, which every supported database can store as a timestamp
+    private static final long MIN_FRAME_MILLIS = Instant.parse("0001-01-01T00:00:00Z").toEpochMilli();
+    private static final long MAX_FRAME_MILLIS = Instant.parse("9999-12-31T23:59:59.999Z").toEpochMilli();
+
+    private final EntityManager entityManager;
+    private final AnomalyDetector anomalyDetector;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<TelemetryJournal> telemetryJournal;
+    private final ProcessRepository processRepository;
+
+    // Process rows by id for binary frames; the partition and name of a process never change
+    private final ConcurrentHashMap<Integer, FrameTarget> frameTargets = new ConcurrentHashMap<>();
+
+    // Processes found in the table by plant line; bounded by the table, since only found names are added
+    private final ConcurrentHashMap<PlantLine, Set<String>> knownProcesses = new ConcurrentHashMap<>();
+
+    private record FrameTarget(PlantLine partition, String processName) {
+    }
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    /**
+     * With the journal enabled the readings are on disk in the journal when this returns and reach
+     * the database through {@link TelemetryJournalApplier}; otherwise they are stored right away.
+     */
+    public int ingest(List<TelemetryBatchRequest.Reading> readings) {
+        requireKnownProcesses(readings);
+        LocalDateTime receivedAt = LocalDateTime.now();
+        TelemetryJournal journal = telemetryJournal.getIfAvailable();
+        if (journal != null) {
+            journal.append(readings, receivedAt);
+            return readings.size();
+        }
+        int count = transactionTemplate.execute(status -> persist(readings, receivedAt));
+        // Only committed readings reach the detector, so a rolled-back batch is never counted
+        detect(readings, receivedAt);
+        return count;
+    }
+
+    /**
+     * Ingests a body of {@link TelemetryFrameCodec} frames. The body is validated and its process
+     * ids resolved in a first pass, so a bad frame rejects the whole body before anything is stored.
+     */
+    public int ingestFrames(ByteBuffer body) {
+        int frames;
+        try {
+            frames = TelemetryFrameCodec.decode(body.duplicate(),
+                    (processId, signal, epochMillis, value) -> {
+                        frameTarget(processId);
+                        frameTime(epochMillis);
+                    });
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (frames == 0 || frames > MAX_FRAMES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Expected 1 to " + MAX_FRAMES + " frames, got " + frames);
+        }
+
+        TelemetryJournal journal = telemetryJournal.getIfAvailable();
+        if (journal != null) {
+            List<TelemetryBatchRequest.Reading> readings = new ArrayList<>(frames);
+            TelemetryFrameCodec.decode(body, (processId, signal, epochMillis, value) -> {
+                FrameTarget target = frameTargets.get(processId);
+                readings.add(TelemetryBatchRequest.Reading.builder()
+                        .plant(target.partition().plant())
+                        .line(target.partition().line())
+                        .processName(target.processName())
+                        .signal(signal)
+                        .value(value)
+                        .recordedAt(frameTime(epochMillis))
+                        .build());
+            });
+            journal.append(readings, LocalDateTime.now());
+            return frames;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] count = new int[1];
+            TelemetryFrameCodec.decode(body.duplicate(), (processId, signal, epochMillis, value) -> {
+                FrameTarget target = frameTargets.get(processId);
+                entityManager.persist(TelemetryReading.builder()
+                        .plant(target.partition().plant())
+                        .line(target.partition().line())
+                        .processName(target.processName())
+                        .signal(signal)
+                        .value(value)
+                        .recordedAt(frameTime(epochMillis))
+                        .build());
+                if (++count[0] % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            });
+        });
+        TelemetryFrameCodec.decode(body, (processId, signal, epochMillis, value) -> {
+            FrameTarget target = frameTargets.get(processId);
+            anomalyDetector.accept(target.partition(), target.processName(), signal, value, epochMillis);
+        });
+        return frames;
+    }
+
+    /**
+     * Rejects the batch when a reading names a process that is not in the process table, as an
+     * unknown process id rejects a frame body. Detector state, counters and process rows are kept
+     * per process, so accepting any name would let callers grow them without limit.
+     */
+    private void requireKnownProcesses(List<TelemetryBatchRequest.Reading> readings) {
+        PartitionKeys keys = new PartitionKeys();
+        for (TelemetryBatchRequest.Reading reading : readings) {
+            PlantLine partition = keys.of(reading);
+            Set<String> known = knownProcesses.get(partition);
+            if (known != null && known.contains(reading.getProcessName())) {
+                continue;
+            }
+            if (processRepository.findByPlantAndLineAndName(partition.plant(), partition.line(),
+                    reading.getProcessName()).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown process " + partition + "/" + reading.getProcessName());
+            }
+            knownProcesses.computeIfAbsent(partition, p -> ConcurrentHashMap.newKeySet()).add(reading.getProcessName());
+        }
+    }
+
+    private FrameTarget frameTarget(int processId) {
+        FrameTarget target = frameTargets.get(processId);
+        if (target == null) {
+            ProcessEntity process = processRepository.findById((long) processId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Unknown process id " + processId));
+            target = new FrameTarget(new PlantLine(process.getPlant(), process.getLine()), process.getName());
+            frameTargets.put(processId, target);
+        }
+        return target;
+    }
+
+    private static LocalDateTime frameTime(long epochMillis) {
+        if (epochMillis < MIN_FRAME_MILLIS || epochMillis > MAX_FRAME_MILLIS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Frame time out of range: " + epochMillis);
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    /**
+     * Inserts the readings in the caller's transaction.
+     */
+    public int persist(List<TelemetryBatchRequest.Reading> readings, LocalDateTime receivedAt) {
+        PartitionKeys keys = new PartitionKeys();
+        int count = 0;
+        for (TelemetryBatchRequest.Reading reading : readings) {
+            PlantLine partition = keys.of(reading);
+            entityManager.persist(TelemetryReading.builder()
+                    .plant(partition.plant())
+                    .line(partition.line())
+                    .processName(reading.getProcessName())
+                    .signal(reading.getSignal())
+                    .value(reading.getValue())
+                    .recordedAt(recordedAt(reading, receivedAt))
+                    .build());
+
+            // Flush one JDBC batch at a time and keep the persistence context small
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Feeds the readings to the detector. Call only once they are committed, or through
+     * {@link DetectorFlushService#flushWith} so the counts commit with them.
+     */
+    public void detect(List<TelemetryBatchRequest.Reading> readings, LocalDateTime receivedAt) {
+        PartitionKeys keys = new PartitionKeys();
+        for (TelemetryBatchRequest.Reading reading : readings) {
+            anomalyDetector.accept(keys.of(reading), reading.getProcessName(), reading.getSignal(), reading.getValue(),
+                    recordedAt(reading, receivedAt).atZone(ZONE).toInstant().toEpochMilli());
+        }
+    }
+
+    /**
+     * Detector state of the processes the readings belong to, for undoing {@link #detect} when the
+     * readings do not commit.
+     */
+    public AnomalyDetector.Snapshot snapshotDetector(List<TelemetryBatchRequest.Reading> readings) {
+        PartitionKeys keys = new PartitionKeys();
+        Map<PlantLine, Set<String>> processes = new HashMap<>();
+        for (TelemetryBatchRequest.Reading reading : readings) {
+            processes.computeIfAbsent(keys.of(reading), p -> new HashSet<>()).add(reading.getProcessName());
+        }
+        return anomalyDetector.snapshot(processes);
+    }
+
+    private static LocalDateTime recordedAt(TelemetryBatchRequest.Reading reading, LocalDateTime receivedAt) {
+        return reading.getRecordedAt() != null ? reading.getRecordedAt() : receivedAt;
+    }
+
+    // Batches usually come from one line, so the key is only rebuilt when it changes
+    private static final class PartitionKeys {
+        private PlantLine partition;
+        private String plant;
+        private String line;
+
+        private PlantLine of(TelemetryBatchRequest.Reading reading) {
+            if (partition == null || !Objects.equals(plant, reading.getPlant())
+                    || !Objects.equals(line, reading.getLine())) {
+                plant = reading.getPlant();
+                line = reading.getLine();
+                partition = PlantLine.of(plant, line);
+            }
+            return partition;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.automobile_risk.config;
+
+import com.example.automobile_risk.repository.AnomalyRepository;
+import com.example.automobile_risk.repository.DelaySampleRepository;
+import com.example.automobile_risk.repository.PostRepository;
+import com.example.automobile_risk.repository.ProcessRepository;
+import com.example.automobile_risk.service.DashboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"app.loadgen.plants=2",
+		"app.loadgen.lines-per-plant=2",
+		"app.loadgen.anomaly-events=25000",
+		"app.loadgen.history-days=30",
+		"app.loadgen.samples-per-day=24",
+		"app.loadgen.posts=3000",
+		"app.loadgen.batch-size=1000"
+})
+@ActiveProfiles("loadgen")
+class LoadDataGeneratorTests {
+
+	@Autowired
+	private ProcessRepository processRepository;
+
+	@Autowired
+	private AnomalyRepository anomalyRepository;
+
+	@Autowired
+	private DelaySampleRepository delaySampleRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Test
+	void generatesConfiguredVolumesInsteadOfTheDemoSeed() {
+		assertThat(processRepository.count()).isEqualTo(2 * 2 * 5);
+		assertThat(anomalyRepository.count()).isEqualTo(25_000);
+		assertThat(delaySampleRepository.count()).isEqualTo(2 * 2 * 30 * 24);
+		assertThat(postRepository.count()).isEqualTo(3_000);
+		assertThat(postRepository.findAll()).noneMatch(p -> p.getTitle().equals("시스템 점검 공지"));
+
+		assertThat(dashboardService.getPartitions()).hasSize(4);
+		assertThat(dashboardService.getSnapshot("P2", "L2").getResponse().getProcessStats()).hasSize(5);
+		assertThat(dashboardService.getSnapshot().getResponse().getTotalAnomalies()).isPositive();
+	}
+}
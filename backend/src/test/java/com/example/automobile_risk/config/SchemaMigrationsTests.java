@@ -0,0 +1,60 @@
+package com.example.automobile_risk.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class SchemaMigrationsTests {
+
+	private static final String INSERT = "insert into processes (plant, line, name) values (?, ?, ?)";
+
+	@Autowired
+	private SchemaMigrations schemaMigrations;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from processes where name = ?", "마이그레이션");
+		jdbcTemplate.update("delete from anomalies where process_name = ?", "마이그레이션");
+	}
+
+	@Test
+	void tableWideUniqueNamesAreReplacedByOnePerLine() {
+		// The schema as the single-line version left it
+		jdbcTemplate.execute("alter table processes drop constraint uk_processes_plant_line_name");
+		jdbcTemplate.execute("alter table processes add constraint uk_processes_name unique (name)");
+
+		schemaMigrations.migrate();
+
+		jdbcTemplate.update(INSERT, "MIG", "L1", "마이그레이션");
+		assertThatCode(() -> jdbcTemplate.update(INSERT, "MIG", "L2", "마이그레이션")).doesNotThrowAnyException();
+		assertThatThrownBy(() -> jdbcTemplate.update(INSERT, "MIG", "L2", "마이그레이션"))
+				.isInstanceOf(DataIntegrityViolationException.class);
+
+		// A second run finds nothing to change
+		assertThatCode(schemaMigrations::migrate).doesNotThrowAnyException();
+	}
+
+	@Test
+	void intCountersAreWidenedToBigint() {
+		jdbcTemplate.execute("alter table anomalies alter column count set data type integer");
+
+		schemaMigrations.migrate();
+
+		long count = Integer.MAX_VALUE + 1L;
+		jdbcTemplate.update("insert into anomalies (process_name, type, count, avg_delay) values (?, ?, ?, ?)",
+				"마이그레이션", "anomaly", count, 1.0);
+		assertThat(jdbcTemplate.queryForObject("select count from anomalies where process_name = ?", Long.class,
+				"마이그레이션")).isEqualTo(count);
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.automobile_risk.controller;
+
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.repository.ProcessRepository;
+import com.example.automobile_risk.service.DashboardChangeTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DashboardChangeTracker changeTracker;
+
+	@Autowired
+	private ProcessRepository processRepository;
+
+	@Test
+	void unchangedDashboardIsAnsweredWithNotModified() throws Exception {
+		MvcResult first = mockMvc.perform(get("/api/v1/dashboard/main")).andExpect(status().isOk()).andReturn();
+		String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+		assertThat(first.getResponse().getContentAsString()).contains("\"totalDelayHours\"");
+
+		mockMvc.perform(get("/api/v1/dashboard/main").header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+	}
+
+	@Test
+	void gzipBodyMatchesPlainJson() throws Exception {
+		byte[] plain = mockMvc.perform(get("/api/v1/dashboard/main"))
+				.andReturn().getResponse().getContentAsByteArray();
+		MvcResult gzipped = mockMvc.perform(get("/api/v1/dashboard/main").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andReturn();
+
+		assertThat(gunzip(gzipped.getResponse().getContentAsByteArray())).isEqualTo(plain);
+	}
+
+	@Test
+	void eachEncodingHasItsOwnTag() throws Exception {
+		String plainTag = mockMvc.perform(get("/api/v1/dashboard/main"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		String gzipTag = mockMvc.perform(get("/api/v1/dashboard/main").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(gzipTag).isNotEqualTo(plainTag).endsWith("-gz\"");
+
+		MvcResult notModified = mockMvc.perform(get("/api/v1/dashboard/main").header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, plainTag))
+				.andReturn();
+		assertThat(String.join(",", notModified.getResponse().getHeaders(HttpHeaders.VARY)))
+				.contains(HttpHeaders.ACCEPT_ENCODING);
+	}
+
+	@Test
+	void etagFollowsDataChanges() throws Exception {
+		String before = mockMvc.perform(get("/api/v1/dashboard/main")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		String again = mockMvc.perform(get("/api/v1/dashboard/main")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(again).isEqualTo(before);
+
+		// A rebuild from unchanged rows yields identical bytes, so the content-based tag stays put
+		changeTracker.markAllChanged(DashboardChangeTracker.Section.PROCESS);
+		mockMvc.perform(get("/api/v1/dashboard/main").header(HttpHeaders.IF_NONE_MATCH, before))
+				.andExpect(status().isNotModified());
+
+		ProcessEntity process = processRepository.save(ProcessEntity.builder()
+				.plant("ETAG").line("L1").name("태그공정")
+				.normalCount(3L).warningCount(0L).anomalyCount(0L)
+				.build());
+		try {
+			MvcResult changed = mockMvc.perform(get("/api/v1/dashboard/main").header(HttpHeaders.IF_NONE_MATCH, before))
+					.andExpect(status().isOk())
+					.andReturn();
+			String after = changed.getResponse().getHeader(HttpHeaders.ETAG);
+			assertThat(after).isNotNull().isNotEqualTo(before);
+			assertThat(changed.getResponse().getContentAsString(StandardCharsets.UTF_8)).contains("태그공정");
+
+			mockMvc.perform(get("/api/v1/dashboard/main").header(HttpHeaders.IF_NONE_MATCH, after))
+					.andExpect(status().isNotModified());
+		} finally {
+			processRepository.delete(process);
+		}
+	}
+
+	@Test
+	void historyCoversTheSameScopesAsTheMainDashboard() throws Exception {
+		mockMvc.perform(get("/api/v1/dashboard/history")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/dashboard/history").param("plant", "P1").param("line", "L1"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/dashboard/history").param("plant", "NOWHERE"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/v1/dashboard/history").param("plant", "P1").param("line", "NOWHERE"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/v1/dashboard/main").param("plant", "NOWHERE"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private static byte[] gunzip(byte[] data) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			return in.readAllBytes();
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.automobile_risk.controller;
+
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.entity.TelemetrySignal;
+import com.example.automobile_risk.repository.ProcessRepository;
+import com.example.automobile_risk.repository.TelemetryReadingRepository;
+import com.example.automobile_risk.service.TelemetryFrameCodec;
+import com.example.automobile_risk.service.TelemetryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class TelemetryControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProcessRepository processRepository;
+
+	@Autowired
+	private TelemetryReadingRepository telemetryReadingRepository;
+
+	@Test
+	void binaryFramesAreStoredSideBySideWithJson() throws Exception {
+		ProcessEntity process = processRepository.save(ProcessEntity.builder()
+				.plant("FRAMES").line("L1").name("프레스").normalCount(0L).warningCount(0L).anomalyCount(0L)
+				.build());
+		long before = telemetryReadingRepository.count();
+
+		ByteBuffer body = ByteBuffer.allocate(2_000 * TelemetryFrameCodec.FRAME_LENGTH);
+		long now = Instant.now().toEpochMilli();
+		for (int i = 0; i < 2_000; i++) {
+			TelemetryFrameCodec.encode(body, process.getId().intValue(), TelemetrySignal.PRESSURE, now + i, 100 + i % 5);
+		}
+		mockMvc.perform(post("/api/v1/telemetry").contentType(TelemetryFrameCodec.MEDIA_TYPE).content(body.array()))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.accepted").value(2_000));
+
+		mockMvc.perform(post("/api/v1/telemetry").contentType("application/json").content("""
+				{"readings": [{"plant": "FRAMES", "line": "L1", "processName": "프레스", "signal": "pressure", "value": 101.0}]}
+				"""))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.accepted").value(1));
+
+		assertThat(telemetryReadingRepository.count() - before).isEqualTo(2_001);
+	}
+
+	@Test
+	void unknownProcessNameRejectsTheWholeBatch() throws Exception {
+		long before = telemetryReadingRepository.count();
+
+		mockMvc.perform(post("/api/v1/telemetry").contentType("application/json").content("""
+				{"readings": [{"processName": "프레스", "signal": "pressure", "value": 101.0},
+				              {"processName": "없는공정", "signal": "pressure", "value": 101.0}]}
+				"""))
+				.andExpect(status().isBadRequest());
+		assertThat(telemetryReadingRepository.count()).isEqualTo(before);
+	}
+
+	@Test
+	void unknownProcessIdRejectsTheWholeBody() throws Exception {
+		ByteBuffer body = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_LENGTH);
+		TelemetryFrameCodec.encode(body, Integer.MAX_VALUE, TelemetrySignal.PRESSURE, 0L, 1.0);
+
+		mockMvc.perform(post("/api/v1/telemetry").contentType(TelemetryFrameCodec.MEDIA_TYPE).content(body.array()))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void frameTimeOutOfRangeRejectsTheWholeBody() throws Exception {
+		ProcessEntity process = processRepository.save(ProcessEntity.builder()
+				.plant("FRAMES").line("L1").name("엔진").normalCount(0L).warningCount(0L).anomalyCount(0L)
+				.build());
+		long before = telemetryReadingRepository.count();
+		ByteBuffer body = ByteBuffer.allocate(2 * TelemetryFrameCodec.FRAME_LENGTH);
+		TelemetryFrameCodec.encode(body, process.getId().intValue(), TelemetrySignal.PRESSURE,
+				Instant.now().toEpochMilli(), 1.0);
+		TelemetryFrameCodec.encode(body, process.getId().intValue(), TelemetrySignal.PRESSURE, Long.MAX_VALUE, 1.0);
+
+		mockMvc.perform(post("/api/v1/telemetry").contentType(TelemetryFrameCodec.MEDIA_TYPE).content(body.array()))
+				.andExpect(status().isBadRequest());
+		assertThat(telemetryReadingRepository.count()).isEqualTo(before);
+	}
+
+	@Test
+	void bodyOverTheFrameCapIsRefusedByItsLength() throws Exception {
+		long before = telemetryReadingRepository.count();
+		byte[] body = new byte[(TelemetryService.MAX_FRAMES + 1) * TelemetryFrameCodec.FRAME_LENGTH];
+
+		mockMvc.perform(post("/api/v1/telemetry").contentType(TelemetryFrameCodec.MEDIA_TYPE).content(body))
+				.andExpect(status().is(HttpStatus.CONTENT_TOO_LARGE.value()));
+		assertThat(telemetryReadingRepository.count()).isEqualTo(before);
+	}
+}
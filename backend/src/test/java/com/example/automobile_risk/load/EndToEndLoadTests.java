@@ -0,0 +1,185 @@
+package com.example.automobile_risk.load;
+
+import com.example.automobile_risk.dto.LoginRequest;
+import com.example.automobile_risk.service.AuthService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+/**
+ * Mixed workload against the full application on embedded H2, loaded with the {@code loadgen}
+ * dataset. Run with {@code ./gradlew loadTest}; concurrency and timing come from the
+ * {@code load.*} system properties and the SLOs from {@code load-slo.properties}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"app.loadgen.anomaly-events=200000",
+		"app.loadgen.history-days=180",
+		"app.loadgen.posts=50000"
+})
+@ActiveProfiles("loadgen")
+class EndToEndLoadTests {
+
+	private static final Logger log = LoggerFactory.getLogger(EndToEndLoadTests.class);
+	private static final String PASSWORD = "load-test-password";
+	private static final String[] SEARCH_TERMS = { "점검", "지연", "품질", "교체", "프레스", "도장" };
+	private static final String[] CHATBOT_MESSAGES = {
+			"프레스 공정 상태 알려줘", "엔진 라인 어때?", "전체 요약 보여줘", "납기 리스크는?", "도장 공정 이상 있어?" };
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void mixedWorkloadMeetsLatencySlos() throws Exception {
+		int concurrency = Integer.getInteger("load.concurrency", 8);
+		Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+		Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+		// One account per virtual user, so rotating one user's refresh token never invalidates another's
+		IntStream.range(0, concurrency).parallel()
+				.forEach(i -> authService.register(new LoginRequest(username(i), PASSWORD)));
+
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		List<LoadDriver.Scenario> scenarios = List.of(
+				new LoadDriver.Scenario("dashboard", 45, this::pollDashboard),
+				new LoadDriver.Scenario("board-page", 15, this::browseBoard),
+				new LoadDriver.Scenario("board-search", 15, this::searchBoard),
+				new LoadDriver.Scenario("chatbot", 12, this::askChatbot),
+				new LoadDriver.Scenario("auth-refresh", 10, this::refresh),
+				// BCrypt makes logins far more expensive than anything else, and clients log in rarely
+				new LoadDriver.Scenario("auth-login", 3, this::login));
+
+		LoadReport report = new LoadDriver(client, concurrency, warmup, duration, 42L).run(scenarios, this::login);
+		Path file = report.write(Path.of(System.getProperty("load.report-dir", "build/reports/load")), objectMapper);
+		log.info("Load test at concurrency {}, {}s (report: {}){}{}", concurrency, duration.toSeconds(), file,
+				System.lineSeparator(), report.summary());
+
+		Properties slo = PropertiesLoaderUtils.loadProperties(new ClassPathResource("load-slo.properties"));
+		double maxErrorRate = Double.parseDouble(slo.getProperty("max-error-rate"));
+		SoftAssertions softly = new SoftAssertions();
+		for (LoadReport.EndpointStats stats : report.endpoints()) {
+			String endpoint = stats.endpoint();
+			softly.assertThat(stats.requests()).as("%s requests", endpoint).isPositive();
+			softly.assertThat(stats.errorRate()).as("%s error rate", endpoint).isLessThanOrEqualTo(maxErrorRate);
+			softly.assertThat(stats.p95Ms()).as("%s p95 ms", endpoint)
+					.isLessThanOrEqualTo(Double.parseDouble(slo.getProperty(endpoint + ".p95")));
+			softly.assertThat(stats.p99Ms()).as("%s p99 ms", endpoint)
+					.isLessThanOrEqualTo(Double.parseDouble(slo.getProperty(endpoint + ".p99")));
+		}
+		softly.assertAll();
+	}
+
+	private int pollDashboard(HttpClient client, LoadDriver.Session session) throws IOException, InterruptedException {
+		HttpRequest.Builder request = get("/api/v1/dashboard/main").header("Accept-Encoding", "gzip");
+		String etag = session.values.get("etag");
+		if (etag != null) {
+			request.header("If-None-Match", etag);
+		}
+		HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+		response.headers().firstValue("ETag").ifPresent(value -> session.values.put("etag", value));
+		return response.statusCode();
+	}
+
+	private int browseBoard(HttpClient client, LoadDriver.Session session) throws IOException, InterruptedException {
+		// Readers page forward a few times and then start over from the newest posts
+		String cursor = session.random.nextInt(4) == 0 ? null : session.values.get("cursor");
+		String path = "/api/v1/board/page?size=20" + (cursor == null ? "" : "&cursor=" + encode(cursor));
+		HttpResponse<byte[]> response = client.send(get(path).build(), HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() == 200) {
+			JsonNode next = objectMapper.readTree(response.body()).get("nextCursor");
+			session.values.put("cursor", next == null || next.isNull() ? null : next.asText());
+		}
+		return response.statusCode();
+	}
+
+	private int searchBoard(HttpClient client, LoadDriver.Session session) throws IOException, InterruptedException {
+		String term = SEARCH_TERMS[session.random.nextInt(SEARCH_TERMS.length)];
+		String path = "/api/v1/board/search?q=" + encode(term) + "&page=" + session.random.nextInt(3);
+		return client.send(get(path).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private int askChatbot(HttpClient client, LoadDriver.Session session) throws IOException, InterruptedException {
+		String message = CHATBOT_MESSAGES[session.random.nextInt(CHATBOT_MESSAGES.length)];
+		return client.send(post("/api/v1/chatbot/query", Map.of("message", message)),
+				HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private int login(HttpClient client, LoadDriver.Session session) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = client.send(post("/api/v1/auth/login",
+				Map.of("username", username(session.id), "password", PASSWORD)), HttpResponse.BodyHandlers.ofByteArray());
+		keepRefreshToken(session, response);
+		return response.statusCode();
+	}
+
+	private int refresh(HttpClient client, LoadDriver.Session session) throws IOException, InterruptedException {
+		String token = session.values.get("refreshToken");
+		if (token == null) {
+			// Lost to an earlier failure; logging in again is what a client would do
+			return login(client, session);
+		}
+		HttpResponse<byte[]> response = client.send(post("/api/v1/auth/refresh", Map.of("refreshToken", token)),
+				HttpResponse.BodyHandlers.ofByteArray());
+		keepRefreshToken(session, response);
+		return response.statusCode();
+	}
+
+	private void keepRefreshToken(LoadDriver.Session session, HttpResponse<byte[]> response) throws IOException {
+		session.values.put("refreshToken", response.statusCode() == 200
+				? objectMapper.readTree(response.body()).get("refreshToken").asText()
+				: null);
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30))
+				.GET();
+	}
+
+	private HttpRequest post(String path, Map<String, String> body) throws IOException {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build();
+	}
+
+	private static String username(int id) {
+		return "load-user-" + id;
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+}
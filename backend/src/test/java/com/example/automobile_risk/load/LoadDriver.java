@@ -0,0 +1,163 @@
+package com.example.automobile_risk.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load driver. Each of {@code concurrency} virtual users repeatedly picks a
+ * scenario by weight, runs it and waits for the reply before starting the next, so throughput is
+ * what the server sustains at that concurrency. Requests started during the warm-up are not recorded.
+ */
+final class LoadDriver {
+
+	/** One request of a scenario; returns the HTTP status. */
+	@FunctionalInterface
+	interface Step {
+		int run(HttpClient client, Session session) throws IOException, InterruptedException;
+	}
+
+	record Scenario(String name, int weight, Step step) {
+	}
+
+	/** State of one virtual user carried between its requests, such as tokens and cursors. */
+	static final class Session {
+		final int id;
+		final SplittableRandom random;
+		final Map<String, String> values = new HashMap<>();
+
+		private Session(int id, long seed) {
+			this.id = id;
+			this.random = new SplittableRandom(seed + id);
+		}
+	}
+
+	private static final class Samples {
+		private long[] nanos = new long[1024];
+		private int size;
+		private long errors;
+
+		private void add(long latency, boolean ok) {
+			if (size == nanos.length) {
+				nanos = Arrays.copyOf(nanos, size * 2);
+			}
+			nanos[size++] = latency;
+			if (!ok) {
+				errors++;
+			}
+		}
+	}
+
+	private final HttpClient client;
+	private final int concurrency;
+	private final Duration warmup;
+	private final Duration duration;
+	private final long seed;
+
+	LoadDriver(HttpClient client, int concurrency, Duration warmup, Duration duration, long seed) {
+		this.client = client;
+		this.concurrency = concurrency;
+		this.warmup = warmup;
+		this.duration = duration;
+		this.seed = seed;
+	}
+
+	/**
+	 * Runs {@code setup} once per virtual user, then the scenarios until the duration is over.
+	 */
+	LoadReport run(List<Scenario> scenarios, Step setup) throws InterruptedException, ExecutionException {
+		int[] cumulative = new int[scenarios.size()];
+		int total = 0;
+		for (int i = 0; i < scenarios.size(); i++) {
+			total += scenarios.get(i).weight();
+			cumulative[i] = total;
+		}
+		int totalWeight = total;
+
+		List<Session> sessions = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			sessions.add(new Session(i, seed));
+		}
+		List<Samples[]> results = new ArrayList<>();
+		try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> ready = new ArrayList<>();
+			for (Session session : sessions) {
+				ready.add(users.submit(() -> setup.run(client, session)));
+			}
+			for (Future<?> future : ready) {
+				future.get();
+			}
+
+			long start = System.nanoTime();
+			long recordFrom = start + warmup.toNanos();
+			long end = recordFrom + duration.toNanos();
+			List<Future<Samples[]>> running = new ArrayList<>();
+			for (Session session : sessions) {
+				running.add(users.submit(() -> {
+					Samples[] samples = new Samples[scenarios.size()];
+					Arrays.setAll(samples, i -> new Samples());
+					long now;
+					while ((now = System.nanoTime()) < end) {
+						int pick = Arrays.binarySearch(cumulative, session.random.nextInt(totalWeight) + 1);
+						int index = pick >= 0 ? pick : -pick - 1;
+						boolean ok;
+						try {
+							int status = scenarios.get(index).step().run(client, session);
+							ok = status < 400;
+						} catch (IOException e) {
+							ok = false;
+						}
+						if (now >= recordFrom) {
+							samples[index].add(System.nanoTime() - now, ok);
+						}
+					}
+					return samples;
+				}));
+			}
+			for (Future<Samples[]> future : running) {
+				results.add(future.get());
+			}
+		}
+
+		double seconds = duration.toNanos() / 1e9;
+		List<LoadReport.EndpointStats> endpoints = new ArrayList<>();
+		for (int i = 0; i < scenarios.size(); i++) {
+			int count = 0;
+			long errors = 0;
+			for (Samples[] samples : results) {
+				count += samples[i].size;
+				errors += samples[i].errors;
+			}
+			long[] latencies = new long[count];
+			int offset = 0;
+			for (Samples[] samples : results) {
+				System.arraycopy(samples[i].nanos, 0, latencies, offset, samples[i].size);
+				offset += samples[i].size;
+			}
+			Arrays.sort(latencies);
+			endpoints.add(new LoadReport.EndpointStats(scenarios.get(i).name(), count, errors, count / seconds,
+					percentileMs(latencies, 0.50), percentileMs(latencies, 0.95), percentileMs(latencies, 0.99),
+					count == 0 ? 0 : latencies[count - 1] / 1e6));
+		}
+		return new LoadReport(concurrency, warmup.toSeconds(), duration.toSeconds(), endpoints);
+	}
+
+	/** Nearest-rank percentile of sorted latencies, in milliseconds. */
+	private static double percentileMs(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile * sorted.length);
+		return sorted[Math.max(0, rank - 1)] / 1e6;
+	}
+}
@@ -0,0 +1,48 @@
+package com.example.automobile_risk.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Per-endpoint latency percentiles and throughput of one {@link LoadDriver} run.
+ */
+record LoadReport(int concurrency, long warmupSeconds, long durationSeconds, List<EndpointStats> endpoints) {
+
+	private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	record EndpointStats(String endpoint, long requests, long errors, double throughputPerSecond,
+			double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+		double errorRate() {
+			return requests == 0 ? 0 : (double) errors / requests;
+		}
+	}
+
+	/**
+	 * Writes the report as JSON to {@code directory/<timestamp>.json}, like the JMH results.
+	 */
+	Path write(Path directory, ObjectMapper objectMapper) throws IOException {
+		Files.createDirectories(directory);
+		Path file = directory.resolve(LocalDateTime.now().format(FILE_NAME) + ".json");
+		objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+		return file;
+	}
+
+	String summary() {
+		StringBuilder summary = new StringBuilder(String.format("%-16s %9s %7s %9s %9s %9s %9s %9s%n",
+				"endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+		for (EndpointStats stats : endpoints) {
+			summary.append(String.format("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", stats.endpoint(),
+					stats.requests(), stats.errors(), stats.throughputPerSecond(), stats.p50Ms(), stats.p95Ms(),
+					stats.p99Ms(), stats.maxMs()));
+		}
+		return summary.toString();
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.automobile_risk.metrics;
+
+import com.example.automobile_risk.entity.Post;
+import com.example.automobile_risk.repository.PostRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryCountFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Test
+	void statementsAndEntityLoadsAreRecordedPerEndpoint() throws Exception {
+		Long id = postRepository.save(Post.builder().title("계측").content("본문").authorName("관리자").build()).getId();
+
+		mockMvc.perform(get("/api/v1/board/" + id)).andExpect(status().isOk());
+
+		DistributionSummary statements = meterRegistry.find("http.server.requests.sql.statements")
+				.tag("uri", "/api/v1/board/{id}").summary();
+		DistributionSummary entities = meterRegistry.find("http.server.requests.entities.loaded")
+				.tag("uri", "/api/v1/board/{id}").summary();
+		assertThat(statements).isNotNull();
+		assertThat(statements.count()).isEqualTo(1);
+		assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(1);
+		assertThat(entities.totalAmount()).isGreaterThanOrEqualTo(1);
+	}
+
+	@Test
+	void onlyPropagatedTasksCountAgainstTheRequestAndLeaveNoStatsBehind() throws Exception {
+		RequestQueryStats stats = RequestQueryStats.begin();
+		try (ExecutorService worker = Executors.newSingleThreadExecutor()) {
+			worker.submit(RequestQueryStats.propagate(() -> {
+				RequestQueryStats.onStatement();
+				return null;
+			})).get();
+			// Same pooled thread: the propagated instance was cleared when the task ended
+			worker.submit(RequestQueryStats::onStatement).get();
+		} finally {
+			RequestQueryStats.end();
+		}
+		RequestQueryStats.onStatement();
+
+		assertThat(stats.getStatements()).isEqualTo(1);
+	}
+
+	@Test
+	void jwtFilterIsTimed() throws Exception {
+		mockMvc.perform(get("/api/v1/dashboard/main")).andExpect(status().isOk());
+
+		assertThat(meterRegistry.find("security.jwt.filter").tag("outcome", "anonymous").timer()).isNotNull();
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.automobile_risk.repository;
+
+import com.example.automobile_risk.entity.Anomaly;
+import com.example.automobile_risk.entity.PlantLine;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@Transactional
+class AnomalyRepositoryTests {
+
+	private static final int ROWS = 200_000;
+	private static final String[] PROCESSES = { "프레스", "엔진", "차체", "도장", "설비" };
+
+	@Autowired
+	private AnomalyRepository anomalyRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void sumByTypeAndProcessNameMatchesEntityStreams() {
+		seed();
+
+		List<Anomaly> anomalies = anomalyRepository.findByType("anomaly");
+		List<Anomaly> warnings = anomalyRepository.findByType("warning");
+		List<AnomalyTotal> totals = anomalyRepository.sumByTypeAndProcessName(PlantLine.DEFAULT_PLANT, PlantLine.DEFAULT_LINE);
+
+		assertThat(sumCount(totals, "anomaly")).isEqualTo(anomalies.stream().mapToLong(Anomaly::getCount).sum());
+		assertThat(sumCount(totals, "warning")).isEqualTo(warnings.stream().mapToLong(Anomaly::getCount).sum());
+
+		double expectedDelay = anomalies.stream().mapToDouble(a -> a.getCount() * a.getAvgDelay()).sum()
+				+ warnings.stream().mapToDouble(w -> w.getCount() * w.getAvgDelay()).sum();
+		double actualDelay = totals.stream().mapToDouble(AnomalyTotal::getTotalDelay).sum();
+		assertThat(actualDelay).isCloseTo(expectedDelay, within(expectedDelay * 1e-9));
+
+		Map<String, Long> expectedPerProcess = new HashMap<>();
+		anomalies.forEach(a -> expectedPerProcess.merge(a.getProcessName(), a.getCount(), Long::sum));
+		Map<String, Long> actualPerProcess = new HashMap<>();
+		totals.stream().filter(t -> "anomaly".equals(t.getType()))
+				.forEach(t -> actualPerProcess.put(t.getProcessName(), t.getTotalCount()));
+		assertThat(actualPerProcess).isEqualTo(expectedPerProcess);
+	}
+
+	private long sumCount(List<AnomalyTotal> totals, String type) {
+		return totals.stream().filter(t -> type.equals(t.getType())).mapToLong(AnomalyTotal::getTotalCount).sum();
+	}
+
+	private void seed() {
+		SplittableRandom random = new SplittableRandom(42);
+		List<Object[]> rows = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			rows.add(new Object[] {
+					PROCESSES[random.nextInt(PROCESSES.length)],
+					1 + random.nextInt(20),
+					Math.round(random.nextDouble(0.1, 6.0) * 10.0) / 10.0,
+					random.nextInt(3) == 0 ? "anomaly" : "warning" });
+		}
+		jdbcTemplate.batchUpdate(
+				"insert into anomalies (process_name, count, avg_delay, type) values (?, ?, ?, ?)", rows);
+		// The rows are uncommitted plain JDBC writes that the second-level cache cannot see, so read around it
+		entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+	}
+}
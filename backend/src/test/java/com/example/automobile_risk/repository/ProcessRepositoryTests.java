@@ -0,0 +1,55 @@
+package com.example.automobile_risk.repository;
+
+import com.example.automobile_risk.entity.ProcessEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProcessRepositoryTests {
+
+	private static final String PLANT = "P-CACHE";
+	private static final String LINE = "L1";
+	private static final String NAME = "캐시검증";
+
+	@Autowired
+	private ProcessRepository processRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	void cleanUp() {
+		processRepository.findByPlantAndLineAndName(PLANT, LINE, NAME).ifPresent(processRepository::delete);
+	}
+
+	@Test
+	void repeatedLookupsAreServedFromTheQueryCacheUntilAWrite() {
+		processRepository.save(ProcessEntity.builder().plant(PLANT).line(LINE).name(NAME).normalCount(1L).warningCount(0L).anomalyCount(0L).build());
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		processRepository.findByPlantAndLineAndName(PLANT, LINE, NAME).orElseThrow();
+		long statements = statistics.getPrepareStatementCount();
+		for (int i = 0; i < 10; i++) {
+			assertThat(processRepository.findByPlantAndLineAndName(PLANT, LINE, NAME).orElseThrow().getNormalCount()).isEqualTo(1L);
+			assertThat(processRepository.findByPlantAndLineOrderByIdAsc(PLANT, LINE))
+					.extracting(ProcessEntity::getName).containsExactly(NAME);
+		}
+		// The line listing was cached on its first call inside the loop
+		assertThat(statistics.getPrepareStatementCount() - statements).isLessThanOrEqualTo(1);
+		assertThat(statistics.getQueryCacheHitCount()).isPositive();
+
+		ProcessEntity process = processRepository.findByPlantAndLineAndName(PLANT, LINE, NAME).orElseThrow();
+		process.setNormalCount(2L);
+		processRepository.save(process);
+
+		// The update invalidates the cached entity and the query results over its table
+		assertThat(processRepository.findByPlantAndLineAndName(PLANT, LINE, NAME).orElseThrow().getNormalCount()).isEqualTo(2L);
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.automobile_risk.security;
+
+import com.example.automobile_risk.dto.LoginRequest;
+import com.example.automobile_risk.service.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JwtAuthenticationFilterTests {
+
+	@Autowired
+	private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+	@Autowired
+	private JwtUtils jwtUtils;
+
+	@Autowired
+	private VerifiedTokenCache tokenCache;
+
+	@Autowired
+	private AuthService authService;
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void repeatedTokenIsServedFromTheCache() throws Exception {
+		authService.register(new LoginRequest("filter-cache", "secret-pw"));
+		String token = jwtUtils.generateJwtToken("filter-cache");
+		long hits = tokenCache.stats().hitCount();
+
+		assertThat(authenticate(token)).isEqualTo("filter-cache");
+		assertThat(tokenCache.stats().hitCount()).isEqualTo(hits);
+		assertThat(authenticate(token)).isEqualTo("filter-cache");
+		assertThat(tokenCache.stats().hitCount()).isEqualTo(hits + 1);
+		// The cached principal carries no password hash
+		assertThat(tokenCache.get(tokenCache.digest(token)).getPassword()).isEmpty();
+	}
+
+	@Test
+	void tamperedTokenIsRejectedAndNotCached() throws Exception {
+		authService.register(new LoginRequest("filter-tamper", "secret-pw"));
+		String token = jwtUtils.generateJwtToken("filter-tamper");
+		int signature = token.lastIndexOf('.') + 1;
+		String tampered = token.substring(0, signature) + (token.charAt(signature) == 'A' ? 'B' : 'A')
+				+ token.substring(signature + 1);
+
+		assertThat(authenticate(tampered)).isNull();
+		assertThat(tokenCache.get(tokenCache.digest(tampered))).isNull();
+	}
+
+	private String authenticate(String token) throws Exception {
+		SecurityContextHolder.clearContext();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/board");
+		request.addHeader("Authorization", "Bearer " + token);
+		jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication == null ? null : authentication.getName();
+	}
+}
@@ -0,0 +1,91 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.TelemetrySignal;
+import com.example.automobile_risk.service.AnomalyDetector.Level;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = {
+		"app.detector.window-size=10",
+		"app.detector.min-samples=5",
+		"app.detector.warning-z=2.0",
+		"app.detector.anomaly-z=3.0",
+		// Keeps the outcomes in the live counters, where the tests read them
+		"app.detector.flush-interval-ms=3600000"
+})
+class AnomalyDetectorTests {
+
+	private static final PlantLine PARTITION = new PlantLine("DETECT", "L1");
+	private static final long HOUR = 3_600_000L;
+
+	@Autowired
+	private AnomalyDetector anomalyDetector;
+
+	@Autowired
+	private ProcessCounters processCounters;
+
+	@Test
+	void readingsAreNormalUntilTheWindowHasMinSamples() {
+		for (int i = 0; i < 5; i++) {
+			assertThat(accept("워밍업", i % 2 == 0 ? 0.0 : 1000.0, i)).isEqualTo(Level.NORMAL);
+		}
+		assertThat(pending("워밍업").getNormal()).isEqualTo(5);
+	}
+
+	@Test
+	void zScoreThresholdsClassifyAndEpisodesCarryTheirDuration() {
+		// Mean 10, standard deviation about 1.05
+		fill("용접", 9.0, 11.0, 10);
+
+		assertThat(accept("용접", 12.5, HOUR)).isEqualTo(Level.WARNING);
+		// The episode escalates to an anomaly and ends with the next normal reading two hours after it started
+		assertThat(accept("용접", 20.0, 2 * HOUR)).isEqualTo(Level.ANOMALY);
+		assertThat(accept("용접", 10.0, 3 * HOUR)).isEqualTo(Level.NORMAL);
+
+		ProcessDelta delta = pending("용접");
+		assertThat(delta.getNormal()).isEqualTo(11);
+		assertThat(delta.getWarning()).isEqualTo(1);
+		assertThat(delta.getAnomaly()).isEqualTo(1);
+		assertThat(delta.getWarningEpisodes()).isZero();
+		assertThat(delta.getAnomalyEpisodes()).isEqualTo(1);
+		assertThat(delta.getAnomalyDelayHours()).isCloseTo(2.0, within(1e-9));
+	}
+
+	@Test
+	void windowOnlyScoresAgainstTheMostRecentReadings() {
+		fill("프레스", 9.0, 11.0, 10);
+		// Ten readings around 100 push every reading around 10 out of the window
+		fill("프레스", 99.0, 101.0, 10);
+
+		assertThat(accept("프레스", 100.0, HOUR)).isEqualTo(Level.NORMAL);
+		assertThat(accept("프레스", 10.0, 2 * HOUR)).isEqualTo(Level.ANOMALY);
+	}
+
+	@Test
+	void signalsOfOneProcessHaveSeparateWindows() {
+		fill("도장", 9.0, 11.0, 10);
+
+		assertThat(anomalyDetector.accept(PARTITION, "도장", TelemetrySignal.TEMPERATURE, 500.0, HOUR))
+				.isEqualTo(Level.NORMAL);
+		assertThat(accept("도장", 500.0, HOUR)).isEqualTo(Level.ANOMALY);
+	}
+
+	private void fill(String process, double low, double high, int count) {
+		for (int i = 0; i < count; i++) {
+			accept(process, i % 2 == 0 ? low : high, i);
+		}
+	}
+
+	private Level accept(String process, double value, long epochMillis) {
+		return anomalyDetector.accept(PARTITION, process, TelemetrySignal.PRESSURE, value, epochMillis);
+	}
+
+	private ProcessDelta pending(String process) {
+		return processCounters.pending(PARTITION).get(process);
+	}
+}
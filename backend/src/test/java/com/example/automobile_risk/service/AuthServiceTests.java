@@ -0,0 +1,112 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.LoginRequest;
+import com.example.automobile_risk.dto.LoginResponse;
+import com.example.automobile_risk.security.JwtUtils;
+import com.example.automobile_risk.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {
+		"app.auth.hash-threads=1",
+		"app.auth.hash-queue-capacity=1"
+})
+class AuthServiceTests {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private JwtUtils jwtUtils;
+
+	@Autowired
+	private PasswordHashingExecutor passwordHashingExecutor;
+
+	@MockitoSpyBean
+	private RefreshTokenService refreshTokenService;
+
+	@Test
+	void refreshRotatesTokensAndRevokesTheChainOnReuse() {
+		authService.register(new LoginRequest("terminal-07", "secret-pw"));
+		LoginResponse login = authService.login(new LoginRequest("terminal-07", "secret-pw"));
+		assertThat(login.getRefreshToken()).isNotBlank();
+
+		LoginResponse renewed = authService.refresh(login.getRefreshToken());
+		assertThat(jwtUtils.getUserNameFromJwtToken(renewed.getToken())).isEqualTo("terminal-07");
+		assertThat(renewed.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+
+		// Replaying the used token is treated as theft, which also kills the token issued in its place
+		assertThatThrownBy(() -> authService.refresh(login.getRefreshToken()))
+				.isInstanceOf(ResponseStatusException.class)
+				.extracting(e -> ((ResponseStatusException) e).getStatusCode())
+				.isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThatThrownBy(() -> authService.refresh(renewed.getRefreshToken()))
+				.isInstanceOf(ResponseStatusException.class);
+
+		LoginResponse again = authService.login(new LoginRequest("terminal-07", "secret-pw"));
+		authService.logout(again.getRefreshToken());
+		assertThatThrownBy(() -> authService.refresh(again.getRefreshToken()))
+				.isInstanceOf(ResponseStatusException.class);
+	}
+
+	@Test
+	void aTokenPresentedAfterLogoutLeavesOtherSessionsAlone() {
+		authService.register(new LoginRequest("terminal-08", "secret-pw"));
+		LoginResponse first = authService.login(new LoginRequest("terminal-08", "secret-pw"));
+		LoginResponse second = authService.login(new LoginRequest("terminal-08", "secret-pw"));
+
+		authService.logout(first.getRefreshToken());
+		assertThatThrownBy(() -> authService.refresh(first.getRefreshToken()))
+				.isInstanceOf(ResponseStatusException.class);
+		assertThat(authService.refresh(second.getRefreshToken()).getUsername()).isEqualTo("terminal-08");
+	}
+
+	@Test
+	void aFailedRefreshKeepsThePresentedToken() {
+		authService.register(new LoginRequest("terminal-09", "secret-pw"));
+		LoginResponse login = authService.login(new LoginRequest("terminal-09", "secret-pw"));
+
+		doThrow(new IllegalStateException("issue failed")).doCallRealMethod()
+				.when(refreshTokenService).issue("terminal-09");
+		assertThatThrownBy(() -> authService.refresh(login.getRefreshToken()))
+				.isInstanceOf(IllegalStateException.class);
+
+		assertThat(authService.refresh(login.getRefreshToken()).getRefreshToken()).isNotBlank();
+	}
+
+	@Test
+	void hashingPoolRejectsWorkBeyondItsQueue() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch running = new CountDownLatch(1);
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> passwordHashingExecutor.call(() -> {
+			running.countDown();
+			return release.await(5, TimeUnit.SECONDS);
+		}));
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> passwordHashingExecutor.call(() -> true));
+		while (!queued.isDone() && passwordHashingExecutor.getQueuedTasks() == 0) {
+			Thread.onSpinWait();
+		}
+
+		assertThatThrownBy(() -> passwordHashingExecutor.call(() -> true))
+				.isInstanceOf(ResponseStatusException.class)
+				.extracting(e -> ((ResponseStatusException) e).getStatusCode())
+				.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+	}
+}
@@ -0,0 +1,257 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.BatteryPredictionRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the client against a local stub of the ml-service batch endpoint. The stub labels a weld
+ * "OK" when the real power reaches the set power, which lets the test check result ordering, and
+ * rejects a negative real power as a poison item. Batches only close when full and the breaker
+ * runs on a clock the test moves, so no assertion depends on timing.
+ */
+@SpringBootTest(properties = {
+		"app.ml.max-batch=4",
+		"app.ml.max-wait-ms=60000",
+		"app.ml.max-in-flight=1",
+		"app.ml.breaker-failure-threshold=2",
+		"app.ml.breaker-open-ms=10000"
+})
+class BatteryPredictionClientTests {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final List<Integer> BATCH_SIZES = new CopyOnWriteArrayList<>();
+	private static final Semaphore RECEIVED = new Semaphore(0);
+	private static final AtomicBoolean FAILING = new AtomicBoolean();
+	private static final MutableClock CLOCK = new MutableClock();
+	private static final HttpServer STUB = startStub();
+	private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+	@Autowired
+	private BatteryPredictionClient client;
+
+	@TestConfiguration
+	static class ClockConfig {
+
+		@Bean
+		@Primary
+		Clock testClock() {
+			return CLOCK;
+		}
+	}
+
+	@DynamicPropertySource
+	static void mlServiceUrl(DynamicPropertyRegistry registry) {
+		registry.add("app.ml.base-url", () -> "http://localhost:" + STUB.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopStub() {
+		STUB.stop(0);
+	}
+
+	@BeforeEach
+	void reset() {
+		BATCH_SIZES.clear();
+		RECEIVED.drainPermits();
+		gate = new CountDownLatch(0);
+	}
+
+	@Test
+	void predictionsQueueBehindTheBatchInFlightAndAreAnsweredInOrder() throws InterruptedException {
+		gate = new CountDownLatch(1);
+		List<CompletableFuture<String>> results = new ArrayList<>(predictAll(alternating(4)));
+		// The first batch is held at the stub, so the next two have to queue behind it
+		assertThat(RECEIVED.tryAcquire(10, TimeUnit.SECONDS)).isTrue();
+		results.addAll(predictAll(alternating(8)));
+		gate.countDown();
+
+		for (int i = 0; i < results.size(); i++) {
+			assertThat(results.get(i).join()).isEqualTo(i % 4 % 2 == 0 ? "OK" : "NG");
+		}
+		assertThat(BATCH_SIZES).containsExactly(4, 4, 4);
+	}
+
+	@Test
+	void aRejectedItemFailsAloneAndDoesNotCountAgainstTheBreaker() {
+		// More rounds than the breaker threshold; each would open the circuit if it counted as a failure
+		for (int round = 0; round < 3; round++) {
+			List<CompletableFuture<String>> results = predictAll(List.of(
+					request(120.0, 100), request(-1.0, 100), request(80.0, 100), request(120.0, 100)));
+
+			assertThat(results.get(0).join()).isEqualTo("OK");
+			assertThatThrownBy(results.get(1)::join).isInstanceOf(CompletionException.class)
+					.cause().isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+						assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+						assertThat(e.getReason()).contains("RealPower");
+					});
+			assertThat(results.get(2).join()).isEqualTo("NG");
+			assertThat(results.get(3).join()).isEqualTo("OK");
+		}
+		assertThat(BATCH_SIZES).containsExactly(4, 4, 4);
+	}
+
+	@Test
+	void circuitOpensAfterConsecutiveFailuresAndClosesAfterTrial() {
+		FAILING.set(true);
+		try {
+			for (int i = 0; i < 2; i++) {
+				for (CompletableFuture<String> failed : predictAll(alternating(4))) {
+					assertThatThrownBy(failed::join).isInstanceOf(CompletionException.class)
+							.cause().isInstanceOfSatisfying(ResponseStatusException.class,
+									e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY));
+				}
+			}
+			assertThatThrownBy(() -> client.predict(request(120.0, 100)).join())
+					.hasMessageContaining("circuit is open");
+			assertThat(BATCH_SIZES).hasSize(2);
+		} finally {
+			FAILING.set(false);
+		}
+
+		CLOCK.advance(Duration.ofMillis(9_999));
+		assertThatThrownBy(() -> client.predict(request(120.0, 100)).join())
+				.hasMessageContaining("circuit is open");
+
+		CLOCK.advance(Duration.ofMillis(1));
+		List<CompletableFuture<String>> trial = predictAll(alternating(4));
+		assertThat(trial).extracting(CompletableFuture::join).containsExactly("OK", "NG", "OK", "NG");
+		assertThat(BATCH_SIZES).hasSize(3);
+	}
+
+	private List<CompletableFuture<String>> predictAll(List<BatteryPredictionRequest> requests) {
+		return requests.stream().map(client::predict).toList();
+	}
+
+	private static List<BatteryPredictionRequest> alternating(int count) {
+		List<BatteryPredictionRequest> requests = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			requests.add(request(i % 2 == 0 ? 120.0 : 80.0, 100));
+		}
+		return requests;
+	}
+
+	private static BatteryPredictionRequest request(double realPower, int setPower) {
+		return BatteryPredictionRequest.builder()
+				.speed(100)
+				.length(12.5)
+				.realPower(realPower)
+				.setPower(setPower)
+				.gateOnTime(40)
+				.build();
+	}
+
+	private static HttpServer startStub() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+			server.createContext("/predict/batch", exchange -> {
+				JsonNode items = MAPPER.readTree(exchange.getRequestBody()).path("items");
+				BATCH_SIZES.add(items.size());
+				RECEIVED.release();
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				byte[] body;
+				int status;
+				if (FAILING.get()) {
+					status = 500;
+					body = "{\"detail\":\"model not loaded\"}".getBytes(StandardCharsets.UTF_8);
+				} else {
+					List<String> labels = new ArrayList<>();
+					List<String> errors = new ArrayList<>();
+					items.forEach(item -> {
+						double realPower = item.path("RealPower").asDouble();
+						boolean poison = realPower < 0;
+						labels.add(poison ? null : realPower >= item.path("SetPower").asDouble() ? "OK" : "NG");
+						errors.add(poison ? "RealPower must not be negative" : null);
+					});
+					Map<String, Object> response = new HashMap<>();
+					response.put("predictions", labels);
+					response.put("errors", errors);
+					status = 200;
+					body = MAPPER.writeValueAsBytes(response);
+				}
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(status, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			});
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private final AtomicLong millis = new AtomicLong(Instant.parse("2026-01-01T00:00:00Z").toEpochMilli());
+
+		void advance(Duration duration) {
+			millis.addAndGet(duration.toMillis());
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis.get());
+		}
+
+		@Override
+		public long millis() {
+			return millis.get();
+		}
+	}
+}
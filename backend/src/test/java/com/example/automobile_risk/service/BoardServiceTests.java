@@ -0,0 +1,74 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.PostPageResponse;
+import com.example.automobile_risk.dto.PostSummary;
+import com.example.automobile_risk.entity.Post;
+import com.example.automobile_risk.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BoardServiceTests {
+
+	private static final LocalDateTime FUTURE = LocalDateTime.of(2999, 1, 1, 0, 0);
+
+	@Autowired
+	private BoardService boardService;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	private final List<Post> created = new ArrayList<>();
+
+	@AfterEach
+	void cleanUp() {
+		postRepository.deleteAll(created);
+	}
+
+	@Test
+	void cursorWalksEveryPostOnceNewestFirst() {
+		// Newer than anything else in the database, so these lead the listing
+		Post newest = save(FUTURE.plusMinutes(2));
+		Post tieOlder = save(FUTURE.plusMinutes(1));
+		Post tieNewer = save(FUTURE.plusMinutes(1));
+		Post undatedOlder = save(null);
+		Post undatedNewer = save(null);
+
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			PostPageResponse page = boardService.getPostPage(cursor, 2);
+			assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+			page.getItems().stream().map(PostSummary::getId).forEach(ids::add);
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(ids).doesNotHaveDuplicates().hasSize((int) postRepository.count());
+		// Equal timestamps fall back to the id, and undated posts come last
+		assertThat(ids.subList(0, 3)).containsExactly(newest.getId(), tieNewer.getId(), tieOlder.getId());
+		assertThat(ids.subList(ids.size() - 2, ids.size())).containsExactly(undatedNewer.getId(), undatedOlder.getId());
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThatThrownBy(() -> boardService.getPostPage("not-a-cursor", 20))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("400");
+	}
+
+	private Post save(LocalDateTime createdAt) {
+		Post post = postRepository.save(Post.builder().title("cursor").content("body").createdAt(createdAt).build());
+		created.add(post);
+		return post;
+	}
+}
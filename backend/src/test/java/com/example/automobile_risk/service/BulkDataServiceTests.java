@@ -0,0 +1,195 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.DelaySample;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.repository.DelaySampleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class BulkDataServiceTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2019, 3, 1, 0, 0);
+
+	@Autowired
+	private BulkDataService bulkDataService;
+
+	@Autowired
+	private DelayHistoryService delayHistoryService;
+
+	@Autowired
+	private DelaySampleRepository sampleRepository;
+
+	@Test
+	void csvImportIsVisibleInBothExportFormats() throws IOException {
+		String csv = "\uFEFFprocess_name,type,count,avg_delay\n"
+				+ "\"Press, line 2\",anomaly,3,1.5\n"
+				+ "\"Paint \"\"B\"\"\",WARNING,7,0.25\n";
+		int imported = bulkDataService.importAnomaliesCsv(stream(csv));
+		assertThat(imported).isEqualTo(2);
+
+		ByteArrayOutputStream exportedCsv = new ByteArrayOutputStream();
+		bulkDataService.exportAnomaliesCsv(exportedCsv);
+		String text = exportedCsv.toString(StandardCharsets.UTF_8);
+		assertThat(text).startsWith("\uFEFFid,plant,line,process_name,type,count,avg_delay\n");
+		assertThat(text).contains(",\"Press, line 2\",anomaly,3,1.5\n", ",\"Paint \"\"B\"\"\",warning,7,0.25\n");
+
+		ByteArrayOutputStream columnar = new ByteArrayOutputStream();
+		bulkDataService.exportAnomaliesColumnar(columnar);
+		List<Object[]> rows = new ArrayList<>();
+		ColumnarFormat.read(new ByteArrayInputStream(columnar.toByteArray()), columnar.size(),
+				ColumnarFormat.Kind.ANOMALIES, Long.MAX_VALUE, row -> rows.add(row.clone()));
+		assertThat(rows).anySatisfy(row -> {
+			assertThat(row[1]).isEqualTo(PlantLine.DEFAULT_PLANT);
+			assertThat(row[3]).isEqualTo("Paint \"B\"");
+			assertThat(row[5]).isEqualTo(7L);
+			assertThat(row[6]).isEqualTo(0.25);
+		});
+		assertThat(text.lines().count() - 1).isEqualTo(rows.size());
+	}
+
+	@Test
+	void delaySamplesRoundTripThroughColumnarFormat() throws IOException {
+		List<DelaySample> samples = new ArrayList<>();
+		for (int i = 0; i < ColumnarFormat.BLOCK_ROWS + 100; i++) {
+			samples.add(DelaySample.builder().recordedAt(START.plusMinutes(i)).delayHours(i % 17 * 0.5).build());
+		}
+		delayHistoryService.recordAll(samples);
+
+		ByteArrayOutputStream columnar = new ByteArrayOutputStream();
+		bulkDataService.exportDelaySamplesColumnar(START, START.plusDays(7), columnar);
+		sampleRepository.deleteAllInBatch();
+
+		int imported = bulkDataService.importDelaySamplesColumnar(new ByteArrayInputStream(columnar.toByteArray()),
+				columnar.size());
+		assertThat(imported).isEqualTo(samples.size());
+		List<DelaySample> restored = sampleRepository.findByPlantAndLineAndRecordedAtBetweenOrderByRecordedAtAsc(
+				PlantLine.DEFAULT_PLANT, PlantLine.DEFAULT_LINE, START, START.plusDays(7));
+		assertThat(restored).hasSize(samples.size());
+		assertThat(restored.get(ColumnarFormat.BLOCK_ROWS).getRecordedAt()).isEqualTo(START.plusMinutes(ColumnarFormat.BLOCK_ROWS));
+		assertThat(restored.get(40).getDelayHours()).isEqualTo(40 % 17 * 0.5);
+	}
+
+	@Test
+	void malformedRowsAreRejectedWithTheirLine() {
+		String csv = "recorded_at,delay_hours\n2019-03-01T00:00:00,1.0\n2019-03-01T01:00:00,abc\n";
+		assertThatThrownBy(() -> bulkDataService.importDelaySamplesCsv(stream(csv)))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("line 3");
+	}
+
+	@Test
+	void quotedFieldsMaySpanLinesAndLineNumbersFollowThem() throws IOException {
+		String csv = "process_name,type,count,avg_delay\r\n"
+				+ "\"Press\nline 3\",anomaly,2,1.0\r\n"
+				+ "Paint,warning,1,0.5\r\n";
+		assertThat(bulkDataService.importAnomaliesCsv(stream(csv))).isEqualTo(2);
+
+		ByteArrayOutputStream exported = new ByteArrayOutputStream();
+		bulkDataService.exportAnomaliesCsv(exported);
+		assertThat(exported.toString(StandardCharsets.UTF_8)).contains(",\"Press\nline 3\",anomaly,2,1.0\n");
+
+		String malformed = "process_name,type,count,avg_delay\n\"Press\nline 3\",anomaly,2,1.0\nPaint,warning,x,0.5\n";
+		assertThatThrownBy(() -> bulkDataService.importAnomaliesCsv(stream(malformed)))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("line 4");
+		assertThatThrownBy(() -> bulkDataService.importAnomaliesCsv(stream("process_name,type,count,avg_delay\n\"Press,")))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("Unterminated");
+	}
+
+	@Test
+	void exportedCellsCannotBeEvaluatedAsFormulas() throws IOException {
+		String csv = "process_name,type,count,avg_delay\n"
+				+ "\"=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",anomaly,1,1.0\n"
+				+ "@SUM(A1),anomaly,1,1.0\n"
+				+ "-2+3,warning,1,1.0\n";
+		assertThat(bulkDataService.importAnomaliesCsv(stream(csv))).isEqualTo(3);
+
+		ByteArrayOutputStream exported = new ByteArrayOutputStream();
+		bulkDataService.exportAnomaliesCsv(exported);
+		assertThat(exported.toString(StandardCharsets.UTF_8))
+				.contains(",\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",anomaly,")
+				.contains(",'@SUM(A1),anomaly,")
+				.contains(",'-2+3,warning,");
+		assertThat(BulkDataService.csv("도장-1")).isEqualTo("도장-1");
+	}
+
+	@Test
+	void corruptColumnarFilesAreBadRequests() throws IOException {
+		// One delay sample whose line column points past its one-entry dictionary
+		byte[] badIndex = delaySampleFile(new byte[] { 2, 'L', '1' }, 5);
+		assertThatThrownBy(() -> bulkDataService.importDelaySamplesColumnar(new ByteArrayInputStream(badIndex),
+				badIndex.length))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST))
+				.hasMessageContaining("Dictionary index 5 is out of range");
+
+		// A 60000-byte string declared in a file far shorter than that
+		byte[] longString = delaySampleFile(new byte[] { (byte) 0xE0, (byte) 0xD4, 0x03, 'L', '1' }, 0);
+		assertThatThrownBy(() -> bulkDataService.importDelaySamplesColumnar(new ByteArrayInputStream(longString),
+				longString.length))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("remain");
+
+		byte[] truncated = Arrays.copyOf(badIndex, 12);
+		assertThatThrownBy(() -> bulkDataService.importDelaySamplesColumnar(new ByteArrayInputStream(truncated), -1))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("truncated");
+	}
+
+	@Test
+	void columnarReadsStopAtTheRowLimit() throws IOException {
+		ByteArrayOutputStream file = new ByteArrayOutputStream();
+		ColumnarFormat.Writer writer = new ColumnarFormat.Writer(file, ColumnarFormat.Kind.DELAY_SAMPLES);
+		writer.row(1L, "P1", "L1", 0L, 1.0);
+		writer.row(2L, "P1", "L1", 1L, 2.0);
+		writer.finish();
+
+		assertThatThrownBy(() -> ColumnarFormat.read(new ByteArrayInputStream(file.toByteArray()), file.size(),
+				ColumnarFormat.Kind.DELAY_SAMPLES, 1, row -> {
+				}))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("more than 1 rows");
+	}
+
+	/**
+	 * A one-row delay sample file with the given encoded line dictionary entry and line index.
+	 */
+	private static byte[] delaySampleFile(byte[] lineEntry, int lineIndex) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.write(new byte[] { 'A', 'R', 'C', 'F', 2, (byte) ColumnarFormat.Kind.DELAY_SAMPLES.ordinal() });
+		out.write(new byte[] { 1, 2 }); // one row; id 1 as a zig-zag delta
+		out.write(new byte[] { 1, 2, 'P', '1', 0 }); // plant dictionary and index
+		out.write(1);
+		out.write(lineEntry);
+		out.write(lineIndex);
+		out.write(0); // epoch millis
+		out.writeDouble(1.0);
+		out.write(0); // end of file
+		return bytes.toByteArray();
+	}
+
+	private static ByteArrayInputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
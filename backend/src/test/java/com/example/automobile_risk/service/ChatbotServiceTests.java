@@ -0,0 +1,55 @@
+package com.example.automobile_risk.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ChatbotServiceTests {
+
+	private static final String DELIVERY_RISK = "📊 **납기 리스크 분석 결과**";
+	private static final String OVERVIEW = "📊 **종합 공정 현황**";
+	private static final String FALLBACK = "죄송합니다.";
+
+	@Autowired
+	private ChatbotService chatbotService;
+
+	@Test
+	void deliveryRiskNeedsBothKeywordKinds() {
+		assertThat(answer("납기 리스크 알려줘")).startsWith(DELIVERY_RISK);
+		assertThat(answer("Delivery delay?")).startsWith(DELIVERY_RISK);
+		assertThat(answer("납기 언제야")).startsWith(FALLBACK);
+	}
+
+	@Test
+	void deliveryRiskSeparatesTheDeadlineFromThePlannedCompletion() {
+		assertThat(answer("납기 리스크"))
+				.contains("**납기:** 2026년 1월 23일 18시")
+				.contains("**계획 완료:** 2026년 1월 20일 18시");
+	}
+
+	@Test
+	void deliveryRiskTakesPrecedenceOverProcessAndOverview() {
+		assertThat(answer("프레스 공정 납기 지연 요약")).startsWith(DELIVERY_RISK);
+	}
+
+	@Test
+	void processSynonymsRouteToTheFirstNamedProcess() {
+		assertThat(answer("press 상태")).startsWith("🏭 **프레스 공정 현황**");
+		assertThat(answer("바디 라인 어때")).startsWith("🏭 **차체 공정 현황**");
+		assertThat(answer("도장이랑 엔진 전체 상태")).startsWith("🏭 **도장 공정 현황**");
+	}
+
+	@Test
+	void overviewAndFallback() {
+		assertThat(answer("전체 현황 요약")).startsWith(OVERVIEW);
+		assertThat(answer("안녕하세요")).startsWith(FALLBACK);
+		assertThat(chatbotService.query(null).getContent()).startsWith(FALLBACK);
+	}
+
+	private String answer(String message) {
+		return chatbotService.query(message).getContent();
+	}
+}
@@ -0,0 +1,200 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.config.DeliveryRiskProperties;
+import com.example.automobile_risk.dto.DashboardResponse;
+import com.example.automobile_risk.entity.Anomaly;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.repository.AnomalyRepository;
+import com.example.automobile_risk.repository.ProcessRepository;
+import com.example.automobile_risk.service.DashboardChangeTracker.Section;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+class DashboardServiceTests {
+
+	private static final PlantLine NORTH_1 = new PlantLine("NORTH", "L1");
+	private static final PlantLine NORTH_2 = new PlantLine("NORTH", "L2");
+	private static final PlantLine SOUTH_1 = new PlantLine("SOUTH", "L1");
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	// Spies call through unless a test stubs them; the stubs are reset after each test
+	@MockitoSpyBean
+	private ProcessRepository processRepository;
+
+	@MockitoSpyBean
+	private AnomalyRepository anomalyRepository;
+
+	@Autowired
+	private DashboardChangeTracker changeTracker;
+
+	@Autowired
+	private DeliveryRiskProperties riskProperties;
+
+	@AfterEach
+	void cleanUp() {
+		for (PlantLine partition : List.of(NORTH_1, NORTH_2, SOUTH_1)) {
+			anomalyRepository.deleteAll(anomalyRepository.findAll().stream()
+					.filter(a -> a.getPlant().equals(partition.plant()) && a.getLine().equals(partition.line()))
+					.toList());
+			processRepository.deleteAll(processRepository.findByPlantAndLineOrderByIdAsc(partition.plant(),
+					partition.line()));
+		}
+	}
+
+	@Test
+	void linesArePartitionedAndMergedPerPlantAndAcrossPlants() {
+		DashboardResponse before = dashboardService.getSnapshot().getResponse();
+		seed(NORTH_1, 10, 2, 1.5);
+		seed(NORTH_2, 20, 4, 3.0);
+		seed(SOUTH_1, 30, 6, 0.5);
+
+		DashboardResponse line = dashboardService.getSnapshot("NORTH", "L2").getResponse();
+		assertThat(line.getProcessStats()).singleElement().satisfies(p -> assertThat(p.get정상()).isEqualTo(20L));
+		assertThat(line.getTotalAnomalies()).isEqualTo(4L);
+		assertThat(line.getTotalDelayHours()).isCloseTo(12.0, within(1e-9));
+
+		DashboardResponse plant = dashboardService.getSnapshot("NORTH", null).getResponse();
+		assertThat(plant.getProcessStats()).singleElement().satisfies(p -> assertThat(p.get정상()).isEqualTo(30L));
+		assertThat(plant.getAnomalyData()).singleElement().satisfies(a -> {
+			assertThat(a.getCount()).isEqualTo(6L);
+			// (2 * 1.5 + 4 * 3.0) / 6, weighted by count rather than averaged per line
+			assertThat(a.getAvgDelayPerIssue()).isEqualTo(2.5);
+		});
+
+		DashboardResponse all = dashboardService.getSnapshot().getResponse();
+		assertThat(all.getTotalAnomalies()).isEqualTo(before.getTotalAnomalies() + 12);
+		assertThat(all.getTotalDelayHours()).isCloseTo(before.getTotalDelayHours() + 18.0, within(1e-6));
+		assertThat(dashboardService.getPartitions()).contains(NORTH_1, NORTH_2, SOUTH_1);
+	}
+
+	@Test
+	void originalDeadlineIsTheDeadlineTheChatbotShows() {
+		DeliveryRiskProperties.Order order = riskProperties.orders().get(0);
+		assertThat(dashboardService.getSnapshot().getResponse().getOriginalDeadline())
+				.isEqualTo(order.deadline().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+				.isNotEqualTo(order.plannedCompletion().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+	}
+
+	@Test
+	void rebuildOnlyReloadsChangedSections() {
+		seed(NORTH_1, 10, 2, 1.5);
+		DashboardSnapshot first = dashboardService.getSnapshot(NORTH_1);
+		assertThat(dashboardService.getSnapshot(NORTH_1)).isSameAs(first);
+
+		changeTracker.markChanged(NORTH_1, Section.HISTORY);
+		DashboardSnapshot second = dashboardService.getSnapshot(NORTH_1);
+		assertThat(second.getVersion()).isGreaterThan(first.getVersion());
+		assertThat(second.getStoredProcessStats()).isSameAs(first.getStoredProcessStats());
+		assertThat(second.getStoredAnomalySection()).isSameAs(first.getStoredAnomalySection());
+
+		ProcessEntity process = processRepository.findByPlantAndLineAndName(NORTH_1.plant(), NORTH_1.line(), "용접")
+				.orElseThrow();
+		process.setNormalCount(11L);
+		processRepository.save(process);
+		DashboardSnapshot third = dashboardService.getSnapshot(NORTH_1);
+		assertThat(third.getProcessStats()).singleElement().satisfies(p -> assertThat(p.get정상()).isEqualTo(11L));
+		assertThat(third.getStoredAnomalySection()).isSameAs(first.getStoredAnomalySection());
+	}
+
+	@Test
+	void aChangedLineOnlyRebuildsItsOwnSnapshot() {
+		seed(NORTH_1, 10, 2, 1.5);
+		seed(SOUTH_1, 30, 6, 0.5);
+		DashboardSnapshot north = dashboardService.getSnapshot("NORTH", null);
+		DashboardSnapshot northLine = dashboardService.getSnapshot(NORTH_1);
+		DashboardSnapshot southLine = dashboardService.getSnapshot(SOUTH_1);
+
+		changeTracker.markChanged(SOUTH_1, Section.PROCESS);
+
+		assertThat(dashboardService.getSnapshot(NORTH_1)).isSameAs(northLine);
+		assertThat(dashboardService.getSnapshot("NORTH", null).getResponse()).isSameAs(north.getResponse());
+		DashboardSnapshot all = dashboardService.getSnapshot();
+		assertThat(all.getParts()).contains(northLine).doesNotContain(southLine);
+	}
+
+	@Test
+	void sectionsOfALineLoadConcurrentlyOnVirtualThreads() {
+		PlantLine partition = new PlantLine("PARALLEL", "L1");
+		// Each load waits for the other, so loading them one after the other breaks the barrier
+		CyclicBarrier bothLoading = new CyclicBarrier(2);
+		Set<Thread> loaders = ConcurrentHashMap.newKeySet();
+		Answer<Object> awaitOtherLoad = invocation -> {
+			if (partition.plant().equals(invocation.getArgument(0))) {
+				loaders.add(Thread.currentThread());
+				bothLoading.await(5, TimeUnit.SECONDS);
+			}
+			return invocation.callRealMethod();
+		};
+		doAnswer(awaitOtherLoad).when(processRepository).findByPlantAndLineOrderByIdAsc(any(), any());
+		doAnswer(awaitOtherLoad).when(anomalyRepository).sumByTypeAndProcessName(any(), any());
+
+		DashboardSnapshot snapshot = dashboardService.getSnapshot(partition);
+
+		assertThat(snapshot.getProcessStats()).isEmpty();
+		assertThat(loaders).hasSize(2).allMatch(Thread::isVirtual).doesNotContain(Thread.currentThread());
+	}
+
+	@Test
+	void aFailedLoadFailsTheRebuildWithoutCachingASnapshot() {
+		PlantLine partition = new PlantLine("BROKEN", "L1");
+		doAnswer(invocation -> {
+			if (partition.plant().equals(invocation.getArgument(0))) {
+				throw new IllegalStateException("anomaly load failed");
+			}
+			return invocation.callRealMethod();
+		}).when(anomalyRepository).sumByTypeAndProcessName(any(), any());
+
+		assertThatThrownBy(() -> dashboardService.getSnapshot(partition))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("anomaly load failed");
+		// Nothing was stored, so the next read retries the loads
+		assertThatThrownBy(() -> dashboardService.getSnapshot(partition))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void unknownScopesAreRejected() {
+		assertThatThrownBy(() -> dashboardService.getSnapshot("NOWHERE", null))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("400");
+		assertThatThrownBy(() -> dashboardService.getSnapshot(PlantLine.DEFAULT_PLANT, "NOWHERE"))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("400");
+		assertThatThrownBy(() -> dashboardService.getSnapshot(null, "L1"))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("400");
+	}
+
+	private void seed(PlantLine partition, long normal, long anomalies, double avgDelay) {
+		processRepository.save(ProcessEntity.builder()
+				.plant(partition.plant()).line(partition.line()).name("용접")
+				.normalCount(normal).warningCount(0L).anomalyCount(anomalies)
+				.build());
+		anomalyRepository.save(Anomaly.builder()
+				.plant(partition.plant()).line(partition.line()).processName("용접")
+				.type("anomaly").count(anomalies).avgDelay(avgDelay)
+				.build());
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.repository.ProcessRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+		// Polls are driven by the test
+		"app.dashboard.stream.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class DashboardStreamServiceTests {
+
+	private static final PlantLine PARTITION = new PlantLine("STREAM", "L1");
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DashboardStreamService dashboardStreamService;
+
+	@Autowired
+	private ProcessRepository processRepository;
+
+	private record Event(String id, String name, JsonNode data) {
+	}
+
+	@AfterEach
+	void cleanUp() {
+		processRepository.deleteAll(processRepository.findByPlantAndLineOrderByIdAsc(PARTITION.plant(),
+				PARTITION.line()));
+	}
+
+	@Test
+	void deltasChainFromTheConnectSnapshot() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/api/v1/dashboard/stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		Event snapshot = awaitEvent(stream, 0);
+		assertThat(snapshot.name()).isEqualTo("snapshot");
+
+		// Changed after the connect snapshot but before the first poll
+		ProcessEntity process = processRepository.save(ProcessEntity.builder()
+				.plant(PARTITION.plant()).line(PARTITION.line()).name("스트림")
+				.normalCount(7L).warningCount(0L).anomalyCount(0L)
+				.build());
+		dashboardStreamService.publishChanges();
+
+		Event first = awaitEvent(stream, 1);
+		assertThat(first.name()).isEqualTo("delta");
+		assertThat(first.data().path("baseVersion").asText()).isEqualTo(snapshot.id());
+		assertThat(first.data().path("version").asText()).isEqualTo(first.id());
+		assertThat(first.data().path("changes").path("processStats").toString()).contains("\"스트림\"");
+
+		// Nothing changed, so the next poll sends nothing
+		dashboardStreamService.publishChanges();
+		process.setNormalCount(8L);
+		processRepository.save(process);
+		dashboardStreamService.publishChanges();
+
+		Event second = awaitEvent(stream, 2);
+		assertThat(second.data().path("baseVersion").asText()).isEqualTo(first.id());
+		assertThat(second.data().path("changes").has("processStats")).isTrue();
+		assertThat(events(stream)).hasSize(3);
+	}
+
+	private static Event awaitEvent(MvcResult stream, int index) throws UnsupportedEncodingException {
+		await().atMost(Duration.ofSeconds(10)).until(() -> events(stream).size() > index);
+		return events(stream).get(index);
+	}
+
+	private static List<Event> events(MvcResult stream) throws UnsupportedEncodingException {
+		List<Event> events = new ArrayList<>();
+		for (String block : stream.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n\n")) {
+			String id = null;
+			String name = null;
+			String data = null;
+			for (String line : block.split("\n")) {
+				if (line.startsWith("id:")) {
+					id = line.substring(3).trim();
+				} else if (line.startsWith("event:")) {
+					name = line.substring(6).trim();
+				} else if (line.startsWith("data:")) {
+					data = line.substring(5).trim();
+				}
+			}
+			if (name != null && data != null) {
+				try {
+					events.add(new Event(id, name, MAPPER.readTree(data)));
+				} catch (JsonProcessingException e) {
+					// An event still being written; it is complete on the next read
+				}
+			}
+		}
+		return events;
+	}
+}
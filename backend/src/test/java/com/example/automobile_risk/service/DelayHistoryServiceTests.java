@@ -0,0 +1,109 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.DelaySeriesResponse;
+import com.example.automobile_risk.entity.DashboardHistory;
+import com.example.automobile_risk.entity.DelayRollup;
+import com.example.automobile_risk.entity.DelaySample;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.RollupResolution;
+import com.example.automobile_risk.repository.DashboardHistoryRepository;
+import com.example.automobile_risk.repository.DelayRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@Transactional
+class DelayHistoryServiceTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+	@Autowired
+	private DelayHistoryService delayHistoryService;
+
+	@Autowired
+	private DelayRollupRepository rollupRepository;
+
+	@Autowired
+	private DashboardHistoryRepository legacyHistoryRepository;
+
+	@Test
+	void rollupsAreMaintainedAsSamplesArrive() {
+		delayHistoryService.record(START.plusMinutes(5), 10.0);
+		delayHistoryService.record(START.plusMinutes(35), 20.0);
+		delayHistoryService.record(START.plusHours(1), 60.0);
+
+		DelayRollup hour = rollupRepository.findByPlantAndLineAndResolutionAndBucketStart(
+				PlantLine.DEFAULT_PLANT, PlantLine.DEFAULT_LINE, RollupResolution.HOURLY, START).orElseThrow();
+		assertThat(hour.getSampleCount()).isEqualTo(2);
+		assertThat(hour.average()).isCloseTo(15.0, within(1e-9));
+		assertThat(hour.getMinDelay()).isEqualTo(10.0);
+		assertThat(hour.getMaxDelay()).isEqualTo(20.0);
+
+		DelayRollup day = rollupRepository.findByPlantAndLineAndResolutionAndBucketStart(
+				PlantLine.DEFAULT_PLANT, PlantLine.DEFAULT_LINE, RollupResolution.DAILY, START).orElseThrow();
+		assertThat(day.getSampleCount()).isEqualTo(3);
+		assertThat(day.average()).isCloseTo(30.0, within(1e-9));
+	}
+
+	@Test
+	void seriesPicksResolutionBySpanAndRespectsPointBudget() {
+		List<DelaySample> samples = new ArrayList<>();
+		for (int i = 0; i < 200 * 24 * 6; i++) {
+			samples.add(DelaySample.builder()
+					.recordedAt(START.plusMinutes(10L * i))
+					.delayHours(50 + 40 * Math.sin(i / 100.0))
+					.build());
+		}
+		delayHistoryService.recordAll(samples);
+
+		DelaySeriesResponse raw = delayHistoryService.getSeries(PlantLine.DEFAULT, START, START.plusHours(12), 1000);
+		assertThat(raw.getResolution()).isEqualTo("RAW");
+		assertThat(raw.getPoints()).hasSize(73);
+
+		DelaySeriesResponse hourly = delayHistoryService.getSeries(PlantLine.DEFAULT, START, START.plusDays(30), 100);
+		assertThat(hourly.getResolution()).isEqualTo("HOURLY");
+		assertThat(hourly.getSourcePoints()).isEqualTo(30 * 24 + 1);
+		assertThat(hourly.getPoints()).hasSize(100);
+		assertThat(hourly.getPoints().get(0).getTimestamp()).isEqualTo(START);
+		assertThat(hourly.getPoints().get(99).getTimestamp()).isEqualTo(START.plusDays(30));
+
+		DelaySeriesResponse daily = delayHistoryService.getSeries(PlantLine.DEFAULT, START, START.plusDays(199), 500);
+		assertThat(daily.getResolution()).isEqualTo("DAILY");
+		assertThat(daily.getPoints()).hasSize(200);
+	}
+
+	@Test
+	void legacyHistoryIsMigratedOnce() {
+		legacyHistoryRepository.saveAll(List.of(
+				DashboardHistory.builder().date("2019-06-01").totalDelay(12.0).build(),
+				DashboardHistory.builder().date("2019-06-02").totalDelay(18.0).build()));
+
+		delayHistoryService.migrateLegacyHistory();
+		delayHistoryService.migrateLegacyHistory();
+
+		assertThat(legacyHistoryRepository.count()).isZero();
+		DelayRollup day = rollupRepository.findByPlantAndLineAndResolutionAndBucketStart(PlantLine.DEFAULT_PLANT,
+				PlantLine.DEFAULT_LINE, RollupResolution.DAILY, LocalDate.of(2019, 6, 1).atStartOfDay()).orElseThrow();
+		assertThat(day.getSampleCount()).isEqualTo(1);
+		assertThat(day.average()).isCloseTo(12.0, within(1e-9));
+	}
+
+	@Test
+	void legacyDatesAreParsed() {
+		LocalDate today = LocalDate.of(2026, 1, 9);
+		assertThat(DelayHistoryService.parseLegacyDate("1/5", today)).isEqualTo(LocalDate.of(2026, 1, 5));
+		assertThat(DelayHistoryService.parseLegacyDate("12/30", today)).isEqualTo(LocalDate.of(2025, 12, 30));
+		assertThat(DelayHistoryService.parseLegacyDate("2024-03-24", today)).isEqualTo(LocalDate.of(2024, 3, 24));
+		assertThat(DelayHistoryService.parseLegacyDate("yesterday", today)).isNull();
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.DeliveryRiskResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class DeliveryRiskEngineTests {
+
+	@Autowired
+	private DeliveryRiskEngine deliveryRiskEngine;
+
+	@Test
+	void simulationMatchesAnalyticMeanAndIsReused() {
+		DeliveryRiskResponse risk = deliveryRiskEngine.getRisk();
+
+		assertThat(risk.getTrials()).isEqualTo(200_000);
+		assertThat(risk.getOrders()).hasSize(1);
+
+		DeliveryRiskResponse.OrderRisk order = risk.getOrders().get(0);
+		double p50 = hoursAfterPlan(order, order.getP50());
+		double p90 = hoursAfterPlan(order, order.getP90());
+		double p99 = hoursAfterPlan(order, order.getP99());
+		// Compound Poisson with exponential delays is only mildly skewed, so the median sits near the mean
+		assertThat(p50).isCloseTo(risk.getExpectedDelayHours(), within(10.0));
+		assertThat(p50).isLessThan(p90);
+		assertThat(p90).isLessThan(p99);
+		assertThat(order.getMissProbability()).isBetween(0.0, 1.0);
+
+		assertThat(deliveryRiskEngine.getRisk()).isSameAs(risk);
+	}
+
+	@Test
+	void samplersHaveExpectedMeans() {
+		SplittableRandom random = new SplittableRandom(7);
+		int n = 200_000;
+		double poissonSmall = 0;
+		double poissonLarge = 0;
+		double gammaSmall = 0;
+		double gammaLarge = 0;
+		for (int i = 0; i < n; i++) {
+			poissonSmall += DeliveryRiskEngine.poisson(random, 5.0);
+			poissonLarge += DeliveryRiskEngine.poisson(random, 500.0);
+			gammaSmall += DeliveryRiskEngine.gamma(random, 4, 2.5);
+			gammaLarge += DeliveryRiskEngine.gamma(random, 100, 2.5);
+		}
+		assertThat(poissonSmall / n).isCloseTo(5.0, within(0.05));
+		assertThat(poissonLarge / n).isCloseTo(500.0, within(0.5));
+		assertThat(gammaSmall / n).isCloseTo(10.0, within(0.1));
+		assertThat(gammaLarge / n).isCloseTo(250.0, within(0.5));
+	}
+
+	private static double hoursAfterPlan(DeliveryRiskResponse.OrderRisk order, LocalDateTime time) {
+		return Duration.between(order.getPlannedCompletion(), time).toSeconds() / 3600.0;
+	}
+}
@@ -0,0 +1,113 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.DashboardResponse;
+import com.example.automobile_risk.entity.Anomaly;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.repository.AnomalyRepository;
+import com.example.automobile_risk.repository.ProcessRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class DetectorFlushServiceTests {
+
+	private static final PlantLine PARTITION = new PlantLine("FLUSH", "L1");
+
+	@Autowired
+	private ProcessCounters processCounters;
+
+	@Autowired
+	private DetectorFlushService detectorFlushService;
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private ProcessRepository processRepository;
+
+	@Autowired
+	private AnomalyRepository anomalyRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	void cleanUp() {
+		anomalyRepository.deleteAll(anomalyRepository.findAll().stream()
+				.filter(a -> a.getPlant().equals(PARTITION.plant()))
+				.toList());
+		processRepository.deleteAll(processRepository.findByPlantAndLineOrderByIdAsc(PARTITION.plant(),
+				PARTITION.line()));
+	}
+
+	@Test
+	void pendingCountsAreVisibleBeforeAndAfterFlush() {
+		ProcessCounters.Counter counter = processCounters.counter(PARTITION, "도장");
+		IntStream.range(0, 1000).parallel().forEach(i -> counter.normal());
+		counter.anomaly();
+		counter.anomalyEpisode(2.0);
+
+		DashboardResponse pending = dashboardService.getSnapshot(PARTITION).getResponse();
+		assertThat(pending.getProcessStats()).singleElement().satisfies(p -> {
+			assertThat(p.get정상()).isEqualTo(1000L);
+			assertThat(p.get이상()).isEqualTo(1L);
+		});
+		assertThat(pending.getTotalAnomalies()).isEqualTo(1L);
+
+		detectorFlushService.flush();
+
+		ProcessEntity process = processRepository.findByPlantAndLineAndName(PARTITION.plant(), PARTITION.line(), "도장")
+				.orElseThrow();
+		assertThat(process.getNormalCount()).isEqualTo(1000L);
+		assertThat(process.getAnomalyCount()).isEqualTo(1L);
+		DashboardResponse flushed = dashboardService.getSnapshot(PARTITION).getResponse();
+		assertThat(flushed.getProcessStats()).isEqualTo(pending.getProcessStats());
+		assertThat(flushed.getTotalAnomalies()).isEqualTo(1L);
+
+		counter.normal();
+		counter.anomalyEpisode(4.0);
+		detectorFlushService.flush();
+
+		assertThat(processRepository.findByPlantAndLineAndName(PARTITION.plant(), PARTITION.line(), "도장")
+				.orElseThrow().getNormalCount()).isEqualTo(1001L);
+		Anomaly anomaly = anomalyRepository.findFirstByPlantAndLineAndProcessNameAndTypeOrderByIdAsc(
+				PARTITION.plant(), PARTITION.line(), "도장", "anomaly").orElseThrow();
+		assertThat(anomaly.getCount()).isEqualTo(2L);
+		assertThat(anomaly.getAvgDelay()).isCloseTo(3.0, within(1e-9));
+		assertThat(dashboardService.getSnapshot(PARTITION).getResponse().getTotalAnomalies()).isEqualTo(2L);
+	}
+
+	@Test
+	void onlyTheUpdatedRowsLeaveTheEntityCache() {
+		ProcessEntity paint = processRepository.save(ProcessEntity.builder()
+				.plant(PARTITION.plant()).line(PARTITION.line()).name("도장")
+				.normalCount(5L).warningCount(0L).anomalyCount(0L)
+				.build());
+		ProcessEntity body = processRepository.save(ProcessEntity.builder()
+				.plant(PARTITION.plant()).line(PARTITION.line()).name("차체")
+				.normalCount(7L).warningCount(0L).anomalyCount(0L)
+				.build());
+		processRepository.findById(paint.getId()).orElseThrow();
+		processRepository.findById(body.getId()).orElseThrow();
+		Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		assertThat(cache.containsEntity(ProcessEntity.class, body.getId())).isTrue();
+
+		processCounters.counter(PARTITION, "도장").normal();
+		detectorFlushService.flush();
+
+		assertThat(cache.containsEntity(ProcessEntity.class, paint.getId())).isFalse();
+		assertThat(cache.containsEntity(ProcessEntity.class, body.getId())).isTrue();
+		assertThat(processRepository.findById(paint.getId()).orElseThrow().getNormalCount()).isEqualTo(6L);
+	}
+}
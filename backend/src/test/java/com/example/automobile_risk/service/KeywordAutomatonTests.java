@@ -0,0 +1,45 @@
+package com.example.automobile_risk.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordAutomatonTests {
+
+	@Test
+	void overlappingKeywordsAllMatch() {
+		assertThat(matches(List.of("he", "she", "his", "hers"), "ushers")).containsExactly("she", "he", "hers");
+	}
+
+	@Test
+	void failureLinksResumeInsideAPartialMatch() {
+		// "abc" is a dead end for "abcd", so "y" continues from the "bc" suffix
+		assertThat(matches(List.of("abcd", "bcy"), "xabcy")).containsExactly("bcy");
+		// A keyword that is a suffix of a longer path is reported through the failure link
+		assertThat(matches(List.of("abcd", "bc"), "abce")).containsExactly("bc");
+	}
+
+	@Test
+	void matchingIsCaseInsensitiveAndCountsEveryOccurrence() {
+		assertThat(matches(List.of("PRESS", "납기"), "Press 납기 press납기")).containsExactly("PRESS", "납기", "PRESS", "납기");
+	}
+
+	@Test
+	void keywordsMatchWithoutWordBoundaries() {
+		assertThat(matches(List.of("납기", "리스크"), "납기리스크는?")).containsExactly("납기", "리스크");
+		assertThat(matches(List.of("납기", "리스크"), "프레스 공정")).isEmpty();
+	}
+
+	private static List<String> matches(List<String> keywords, String text) {
+		Map<String, String> payloads = new LinkedHashMap<>();
+		keywords.forEach(k -> payloads.put(k, k));
+		List<String> found = new ArrayList<>();
+		new KeywordAutomaton<>(payloads).match(text, found::add);
+		return found;
+	}
+}
@@ -0,0 +1,109 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.Post;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTests {
+
+	private final PostSearchIndex index = new PostSearchIndex();
+
+	@Test
+	void tokensSplitOnNonLetterOrDigitAndLowerCase() {
+		assertThat(PostSearchIndex.tokens("차체 조립-라인, ABC12!")).containsExactly("차체", "조립", "라인", "abc12");
+		assertThat(PostSearchIndex.tokens(null)).isEmpty();
+	}
+
+	@Test
+	void lowerCaseKeepsTheOffsetsOfTheText() {
+		// String.toLowerCase turns 'İ' into two chars and shifts every offset after it
+		assertThat(PostSearchIndex.lowerCase("İSTANBUL 라인")).hasSize("İSTANBUL 라인".length());
+		assertThat(PostSearchService.snippet("İİİ 라인 점검", PostSearchIndex.tokens("점검")))
+				.isEqualTo("İİİ 라인 <mark>점검</mark>");
+	}
+
+	@Test
+	void longQueriesKeepTheirFirstTerms() {
+		StringBuilder query = new StringBuilder("차체");
+		for (int i = 0; i < 100; i++) {
+			query.append(' ').append("w").append(i);
+		}
+		List<String> terms = PostSearchIndex.queryTerms(query.toString());
+
+		assertThat(terms).hasSize(64).startsWith("차체", "w0", "w1");
+	}
+
+	@Test
+	void bigramsMatchAcrossWordBoundaries() {
+		index.add(post(1, "점검 결과", "차체조립라인 점검"));
+
+		assertThat(ids(index.search("차체 조립", 0, 10, 1.0))).containsExactly(1L);
+		assertThat(ids(index.search("도장", 0, 10, 1.0))).isEmpty();
+	}
+
+	@Test
+	void titleHitsOutrankContentHits() {
+		index.add(post(1, "프레스 점검", "일정"));
+		index.add(post(2, "공지", "프레스 점검"));
+
+		PostSearchIndex.Result result = index.search("프레스", 0, 10, 1.0);
+		assertThat(ids(result)).containsExactly(1L, 2L);
+		assertThat(result.hits().get(0).score()).isGreaterThan(result.hits().get(1).score());
+	}
+
+	@Test
+	void equalScoresPreferNewerPosts() {
+		index.add(post(1, "공지", "설비 점검"));
+		index.add(post(2, "공지", "설비 점검"));
+
+		assertThat(ids(index.search("설비", 0, 10, 1.0))).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void minShouldMatchDropsPartialMatches() {
+		index.add(post(1, "공지", "차체 조립"));
+
+		assertThat(index.search("차체 조립 라인", 0, 10, 0.75).total()).isZero();
+		assertThat(ids(index.search("차체 조립 라인", 0, 10, 0.5))).containsExactly(1L);
+	}
+
+	@Test
+	void pagesKeepTheTotal() {
+		index.add(post(1, "점검", "점검 점검"));
+		index.add(post(2, "점검", "점검"));
+		index.add(post(3, "공지", "점검"));
+
+		PostSearchIndex.Result second = index.search("점검", 1, 1, 1.0);
+		assertThat(second.total()).isEqualTo(3);
+		assertThat(ids(second)).containsExactly(2L);
+	}
+
+	@Test
+	void removedAndReindexedPostsOnlyMatchTheirCurrentText() {
+		Post original = post(1, "엔진 교체", "일정 안내");
+		index.add(original);
+		index.add(original);
+		assertThat(index.size()).isEqualTo(1);
+
+		index.remove(original);
+		assertThat(index.size()).isZero();
+		assertThat(index.search("엔진", 0, 10, 1.0).total()).isZero();
+
+		// An edit goes through the index as remove and add
+		index.add(post(1, "도장 교체", "일정 안내"));
+		assertThat(index.search("엔진", 0, 10, 1.0).total()).isZero();
+		assertThat(ids(index.search("도장", 0, 10, 1.0))).containsExactly(1L);
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	private static Post post(long id, String title, String content) {
+		return Post.builder().id(id).title(title).content(content).build();
+	}
+
+	private static List<Long> ids(PostSearchIndex.Result result) {
+		return result.hits().stream().map(PostSearchIndex.Hit::postId).toList();
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.entity.TelemetrySignal;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TelemetryFrameCodecTests {
+
+	private record Frame(int processId, TelemetrySignal signal, long epochMillis, double value) {
+	}
+
+	@Test
+	void framesRoundTrip() {
+		List<Frame> frames = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			frames.add(new Frame(i % 7, TelemetrySignal.values()[i % 3], 1_768_900_000_000L + i, i * 0.25 - 100));
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(frames.size() * TelemetryFrameCodec.FRAME_LENGTH);
+		frames.forEach(f -> TelemetryFrameCodec.encode(buffer, f.processId(), f.signal(), f.epochMillis(), f.value()));
+		assertThat(buffer.hasRemaining()).isFalse();
+
+		List<Frame> decoded = new ArrayList<>();
+		int count = TelemetryFrameCodec.decode(buffer.flip(),
+				(processId, signal, epochMillis, value) -> decoded.add(new Frame(processId, signal, epochMillis, value)));
+
+		assertThat(count).isEqualTo(frames.size());
+		assertThat(decoded).isEqualTo(frames);
+	}
+
+	@Test
+	void fieldsAppendedToAFrameAreSkipped() {
+		ByteBuffer buffer = ByteBuffer.allocate(2 * TelemetryFrameCodec.FRAME_LENGTH + 4);
+		buffer.putShort((short) (TelemetryFrameCodec.BODY_LENGTH + 4))
+				.putInt(1).put((byte) 0).putLong(10L).putDouble(1.5)
+				.putInt(0xCAFE);
+		TelemetryFrameCodec.encode(buffer, 2, TelemetrySignal.VIBRATION, 20L, 2.5);
+
+		List<Integer> ids = new ArrayList<>();
+		TelemetryFrameCodec.decode(buffer.flip(), (processId, signal, epochMillis, value) -> ids.add(processId));
+
+		assertThat(ids).containsExactly(1, 2);
+	}
+
+	@Test
+	void malformedFramesAreRejected() {
+		ByteBuffer truncated = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_LENGTH);
+		TelemetryFrameCodec.encode(truncated, 1, TelemetrySignal.PRESSURE, 0L, 0.0);
+		assertThatThrownBy(() -> TelemetryFrameCodec.decode(truncated.flip().limit(10), (p, s, t, v) -> {
+		})).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("frame 0: truncated");
+
+		ByteBuffer badSignal = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_LENGTH);
+		TelemetryFrameCodec.encode(badSignal, 1, TelemetrySignal.PRESSURE, 0L, 0.0);
+		badSignal.put(6, (byte) 9);
+		assertThatThrownBy(() -> TelemetryFrameCodec.decode(badSignal.flip(), (p, s, t, v) -> {
+		})).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("unknown signal 9");
+	}
+}
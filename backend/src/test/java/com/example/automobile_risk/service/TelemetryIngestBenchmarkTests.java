@@ -0,0 +1,70 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.TelemetryBatchRequest;
+import com.example.automobile_risk.entity.TelemetrySignal;
+import com.example.automobile_risk.repository.TelemetryReadingRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput floor for the batched ingest path. Wall-clock bound, so it runs with
+ * {@code ./gradlew loadTest} rather than in the regular test task.
+ */
+@Tag("load")
+@SpringBootTest
+class TelemetryIngestBenchmarkTests {
+
+	private static final String[] PROCESSES = { "프레스", "엔진", "차체", "도장", "설비" };
+	private static final int BATCH = 10_000;
+	private static final int BATCHES = 10;
+
+	@Autowired
+	private TelemetryService telemetryService;
+
+	@Autowired
+	private TelemetryReadingRepository telemetryReadingRepository;
+
+	@Test
+	void ingestsBatchesAtTargetRate() {
+		double minRate = Double.parseDouble(System.getProperty("load.ingest-min-rate", "15000"));
+		List<TelemetryBatchRequest.Reading> batch = readings(BATCH);
+
+		telemetryService.ingest(batch); // warm-up
+		long before = telemetryReadingRepository.count();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < BATCHES; i++) {
+			telemetryService.ingest(batch);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		double rate = BATCH * BATCHES / seconds;
+
+		assertThat(telemetryReadingRepository.count() - before).isEqualTo((long) BATCH * BATCHES);
+		assertThat(rate).as("readings/s").isGreaterThanOrEqualTo(minRate);
+	}
+
+	private List<TelemetryBatchRequest.Reading> readings(int size) {
+		SplittableRandom random = new SplittableRandom(7);
+		TelemetrySignal[] signals = TelemetrySignal.values();
+		LocalDateTime now = LocalDateTime.now();
+		List<TelemetryBatchRequest.Reading> readings = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			readings.add(TelemetryBatchRequest.Reading.builder()
+					.processName(PROCESSES[random.nextInt(PROCESSES.length)])
+					.signal(signals[random.nextInt(signals.length)])
+					.value(random.nextDouble(0, 1000))
+					.recordedAt(now.plusNanos(i * 1_000_000L))
+					.build());
+		}
+		return readings;
+	}
+}
@@ -0,0 +1,205 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.TelemetryBatchRequest;
+import com.example.automobile_risk.entity.JournalCheckpoint;
+import com.example.automobile_risk.entity.PlantLine;
+import com.example.automobile_risk.entity.ProcessEntity;
+import com.example.automobile_risk.entity.TelemetrySignal;
+import com.example.automobile_risk.repository.AnomalyRepository;
+import com.example.automobile_risk.repository.JournalCheckpointRepository;
+import com.example.automobile_risk.repository.ProcessRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Drives {@link TelemetryJournalApplier} over a journal in a temporary directory. A restart is a
+ * new journal and applier opened at the stored checkpoint, as {@code JournalConfig} does on boot.
+ */
+@SpringBootTest(properties = {
+		"app.detector.window-size=10",
+		"app.detector.min-samples=5",
+		// Keeps the scheduled flush from draining counts between the steps of the test
+		"app.detector.flush-interval-ms=3600000"
+})
+class TelemetryJournalRecoveryTests {
+
+	private static final PlantLine PARTITION = new PlantLine("JOURNAL", "L1");
+	private static final int SEGMENT_SIZE = 1 << 20;
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 20, 9, 30);
+
+	@TempDir
+	Path directory;
+
+	@Autowired
+	private TelemetryService telemetryService;
+
+	@Autowired
+	private DetectorFlushService detectorFlushService;
+
+	@Autowired
+	private ProcessCounters processCounters;
+
+	@Autowired
+	private ProcessRepository processRepository;
+
+	@Autowired
+	private AnomalyRepository anomalyRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@MockitoSpyBean
+	private JournalCheckpointRepository checkpointRepository;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from telemetry_readings where plant = ?", PARTITION.plant());
+		jdbcTemplate.update("delete from anomalies where plant = ?", PARTITION.plant());
+		jdbcTemplate.update("delete from processes where plant = ?", PARTITION.plant());
+		checkpointRepository.deleteAll();
+	}
+
+	@Test
+	void readingsJournaledBeforeACrashAreStoredAndCountedExactlyOnce() throws IOException {
+		TelemetryJournal journal = TelemetryJournal.open(directory, SEGMENT_SIZE, 0);
+		journal.append(readings(0, 300), NOW);
+		journal.append(readings(300, 200), NOW);
+		long end = journal.getDurableOffset();
+		// Crash before the applier ran: the journal is never closed
+
+		TelemetryJournal restarted = TelemetryJournal.open(directory, SEGMENT_SIZE, appliedOffset());
+		TelemetryJournalApplier applier = applier(restarted);
+		// The first batch dies at its checkpoint, as a crash inside the transaction would leave it
+		doThrow(new DataAccessResourceFailureException("crash")).doCallRealMethod()
+				.when(checkpointRepository).save(any());
+		applier.apply();
+		assertThat(appliedOffset()).isZero();
+		assertThat(storedReadings()).isZero();
+		assertThat(processRepository.findByPlantAndLineAndName(PARTITION.plant(), PARTITION.line(), "도장")).isEmpty();
+		assertThat(processCounters.pending(PARTITION)).isEmpty();
+
+		applier.apply();
+		assertThat(appliedOffset()).isEqualTo(end);
+		assertAppliedOnce(500);
+
+		// A restart at the checkpoint finds nothing left to replay
+		TelemetryJournal again = TelemetryJournal.open(directory, SEGMENT_SIZE, appliedOffset());
+		applier(again).apply();
+		assertAppliedOnce(500);
+	}
+
+	@Test
+	void anEpisodeClosedByAFailedBatchIsRecordedOnReplay() throws IOException {
+		TelemetryJournal journal = TelemetryJournal.open(directory, SEGMENT_SIZE, 0);
+		TelemetryJournalApplier applier = applier(journal);
+		// Mean 10 and a standard deviation of about 1, then an anomaly that opens an episode
+		List<TelemetryBatchRequest.Reading> opening = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			opening.add(reading(i % 2 == 0 ? 9.0 : 11.0));
+		}
+		opening.add(reading(20.0));
+		journal.append(opening, NOW);
+		applier.apply();
+
+		// The normal reading that closes the episode fails with its batch
+		journal.append(List.of(reading(10.0)), NOW);
+		doThrow(new DataAccessResourceFailureException("crash")).doCallRealMethod()
+				.when(checkpointRepository).save(any());
+		applier.apply();
+		assertThat(anomalyRepository.findFirstByPlantAndLineAndProcessNameAndTypeOrderByIdAsc(
+				PARTITION.plant(), PARTITION.line(), "도장", "anomaly")).isEmpty();
+
+		applier.apply();
+		assertAppliedOnce(12);
+		assertThat(anomalyRepository.findFirstByPlantAndLineAndProcessNameAndTypeOrderByIdAsc(
+				PARTITION.plant(), PARTITION.line(), "도장", "anomaly").orElseThrow().getCount()).isEqualTo(1L);
+	}
+
+	@Test
+	void aReadingTheDatabaseRejectsIsSkippedAndTheRestApplied() throws IOException {
+		TelemetryJournal journal = TelemetryJournal.open(directory, SEGMENT_SIZE, 0);
+		List<TelemetryBatchRequest.Reading> batch = new ArrayList<>(readings(0, 50));
+		// Longer than the process name column
+		batch.set(20, TelemetryBatchRequest.Reading.builder()
+				.plant(PARTITION.plant()).line(PARTITION.line()).processName("공".repeat(300))
+				.signal(TelemetrySignal.PRESSURE).value(1.0)
+				.build());
+		journal.append(batch, NOW);
+		double skipped = meterRegistry.counter("telemetry.journal.skipped.records").count();
+
+		applier(journal).apply();
+
+		assertThat(appliedOffset()).isEqualTo(journal.getDurableOffset());
+		assertAppliedOnce(49);
+		assertThat(meterRegistry.counter("telemetry.journal.skipped.records").count()).isEqualTo(skipped + 1);
+	}
+
+	private TelemetryJournalApplier applier(TelemetryJournal journal) {
+		TelemetryJournalApplier applier = new TelemetryJournalApplier(journal, telemetryService, checkpointRepository,
+				detectorFlushService, meterRegistry);
+		ReflectionTestUtils.setField(applier, "batchSize", 200);
+		return applier;
+	}
+
+	private void assertAppliedOnce(long readings) {
+		assertThat(storedReadings()).isEqualTo(readings);
+		ProcessEntity process = processRepository.findByPlantAndLineAndName(PARTITION.plant(), PARTITION.line(), "도장")
+				.orElseThrow();
+		assertThat(process.getNormalCount() + process.getWarningCount() + process.getAnomalyCount()).isEqualTo(readings);
+		assertThat(processCounters.pending(PARTITION)).isEmpty();
+	}
+
+	private long appliedOffset() {
+		return checkpointRepository.findById(TelemetryJournal.NAME).map(JournalCheckpoint::getAppliedOffset).orElse(0L);
+	}
+
+	private long storedReadings() {
+		return jdbcTemplate.queryForObject("select count(*) from telemetry_readings where plant = ?", Long.class,
+				PARTITION.plant());
+	}
+
+	private static TelemetryBatchRequest.Reading reading(double value) {
+		return TelemetryBatchRequest.Reading.builder()
+				.plant(PARTITION.plant())
+				.line(PARTITION.line())
+				.processName("도장")
+				.signal(TelemetrySignal.PRESSURE)
+				.value(value)
+				.build();
+	}
+
+	private static List<TelemetryBatchRequest.Reading> readings(int first, int count) {
+		List<TelemetryBatchRequest.Reading> readings = new ArrayList<>(count);
+		for (int i = first; i < first + count; i++) {
+			readings.add(TelemetryBatchRequest.Reading.builder()
+					.plant(PARTITION.plant())
+					.line(PARTITION.line())
+					.processName("도장")
+					.signal(TelemetrySignal.values()[i % 3])
+					.value(10.0 + i % 7)
+					.build());
+		}
+		return readings;
+	}
+}
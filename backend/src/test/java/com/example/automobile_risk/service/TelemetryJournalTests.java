@@ -0,0 +1,162 @@
+package com.example.automobile_risk.service;
+
+import com.example.automobile_risk.dto.TelemetryBatchRequest;
+import com.example.automobile_risk.entity.TelemetrySignal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelemetryJournalTests {
+
+	private static final int SEGMENT_SIZE = 1 << 20;
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 20, 9, 30, 15, 123_456_789);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void concurrentAppendsAreReadBackAcrossSegments() throws IOException {
+		try (TelemetryJournal journal = TelemetryJournal.open(directory, SEGMENT_SIZE, 0);
+				ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor()) {
+			// About 46 bytes per record, so 60k records span several segments
+			for (int writer = 0; writer < 20; writer++) {
+				int first = writer * 3_000;
+				writers.submit(() -> {
+					for (int batch = 0; batch < 30; batch++) {
+						journal.append(readings(first + batch * 100, 100), NOW);
+					}
+				});
+			}
+			writers.close();
+
+			List<TelemetryBatchRequest.Reading> read = readAll(journal, 0);
+			assertThat(read).extracting(TelemetryBatchRequest.Reading::getValue)
+					.containsExactlyInAnyOrderElementsOf(IntStream.range(0, 60_000).mapToObj(i -> (double) i).toList());
+			assertThat(segmentCount()).isGreaterThan(1);
+
+			TelemetryBatchRequest.Reading first = read.get(0);
+			assertThat(first.getPlant()).isEqualTo("NORTH");
+			assertThat(first.getLine()).isNull();
+			assertThat(first.getProcessName()).isEqualTo("도장");
+			assertThat(first.getSignal()).isEqualTo(TelemetrySignal.values()[(int) (first.getValue() % 3)]);
+			assertThat(first.getRecordedAt()).isEqualTo(NOW);
+		}
+	}
+
+	@Test
+	void reopenedJournalReplaysFromTheAppliedOffset() throws IOException {
+		TelemetryJournal journal = TelemetryJournal.open(directory, SEGMENT_SIZE, 0);
+		journal.append(readings(0, 30_000), NOW);
+		TelemetryJournal.Batch batch = journal.read(0, 25_000);
+		long applied = batch.nextOffset();
+		journal.release(applied);
+		assertThat(segmentCount()).isEqualTo(1);
+		// No close: the records were forced by append and must survive as they are
+
+		TelemetryJournal reopened = TelemetryJournal.open(directory, SEGMENT_SIZE, applied);
+		assertThat(readAll(reopened, reopened.getAppliedOffset())).extracting(TelemetryBatchRequest.Reading::getValue)
+				.containsExactlyElementsOf(IntStream.range(25_000, 30_000).mapToObj(i -> (double) i).toList());
+
+		reopened.append(readings(30_000, 10), NOW);
+		assertThat(readAll(reopened, applied)).hasSize(5_010);
+	}
+
+	@Test
+	void tornTailIsTruncatedOnRecovery() throws IOException {
+		TelemetryJournal journal = TelemetryJournal.open(directory, SEGMENT_SIZE, 0);
+		journal.append(readings(0, 10), NOW);
+		long end = journal.getDurableOffset();
+		journal.close();
+
+		// Flip a payload byte of the last record, as a write torn by a crash would leave it
+		Path segment;
+		try (Stream<Path> files = Files.list(directory)) {
+			segment = files.findFirst().orElseThrow();
+		}
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer last = ByteBuffer.allocate(1);
+			channel.read(last, end - 5);
+			last.put(0, (byte) ~last.get(0));
+			channel.write(last.flip(), end - 5);
+		}
+
+		TelemetryJournal recovered = TelemetryJournal.open(directory, SEGMENT_SIZE, 0);
+		assertThat(recovered.getDurableOffset()).isLessThan(end);
+		assertThat(readAll(recovered, 0)).hasSize(9);
+		recovered.append(readings(10, 5), NOW);
+		assertThat(readAll(recovered, 0)).extracting(TelemetryBatchRequest.Reading::getValue)
+				.containsExactly(0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 10.0, 11.0, 12.0, 13.0, 14.0);
+	}
+
+	@Test
+	void recordDamagedAfterOpeningIsSkippedAndCounted() throws IOException {
+		TelemetryJournal journal = TelemetryJournal.open(directory, SEGMENT_SIZE, 0);
+		journal.append(readings(0, 10), NOW);
+		long recordLength = journal.getDurableOffset() / 10;
+
+		// Flip a payload byte of the fifth record through the file; the mapping sees the change
+		Path segment;
+		try (Stream<Path> files = Files.list(directory)) {
+			segment = files.findFirst().orElseThrow();
+		}
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer payload = ByteBuffer.allocate(1);
+			long position = 4 * recordLength + recordLength - 5;
+			channel.read(payload, position);
+			payload.put(0, (byte) ~payload.get(0));
+			channel.write(payload.flip(), position);
+		}
+
+		assertThat(readAll(journal, 0)).extracting(TelemetryBatchRequest.Reading::getValue)
+				.containsExactly(0.0, 1.0, 2.0, 3.0, 5.0, 6.0, 7.0, 8.0, 9.0);
+		// Reading the same range again does not count the record twice
+		assertThat(readAll(journal, 0)).hasSize(9);
+		assertThat(journal.getCorruptRecords()).isEqualTo(1);
+	}
+
+	private static List<TelemetryBatchRequest.Reading> readAll(TelemetryJournal journal, long offset) {
+		List<TelemetryBatchRequest.Reading> readings = new ArrayList<>();
+		while (true) {
+			TelemetryJournal.Batch batch = journal.read(offset, 1_000);
+			if (batch.readings().isEmpty()) {
+				return readings;
+			}
+			readings.addAll(batch.readings());
+			offset = batch.nextOffset();
+		}
+	}
+
+	private long segmentCount() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	private static List<TelemetryBatchRequest.Reading> readings(int first, int count) {
+		List<TelemetryBatchRequest.Reading> readings = new ArrayList<>(count);
+		for (int i = first; i < first + count; i++) {
+			readings.add(TelemetryBatchRequest.Reading.builder()
+					.plant("NORTH")
+					.processName("도장")
+					.signal(TelemetrySignal.values()[i % 3])
+					.value((double) i)
+					.build());
+		}
+		return readings;
+	}
+}
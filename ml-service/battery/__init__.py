@@ -47,6 +47,12 @@ class BatteryPredictionRequest(BaseModel):
     SetPower: int
     GateOnTime: int
 
+def load_battery_models_if_needed():
+    """
+    모델이 아직 로드되지 않았다면 로드를 시도하고, 사용 가능 여부를 반환합니다.
+    """
+    return bool(model and scaler) or load_battery_models()
+
 def predict_battery_quality(data: BatteryPredictionRequest):
     """
     배터리 용접 데이터를 입력받아 품질(OK/NG)을 예측합니다.
@@ -58,34 +64,47 @@ def predict_battery_quality(data: BatteryPredictionRequest):
              raise Exception("모델이 로드되지 않았습니다.")
 
     try:
-        # 1. 입력 데이터를 DataFrame으로 변환
-        df = pd.DataFrame([data.dict()])
-        
-        # 2. 파생 변수 생성 (Feature Engineering)
-        df['PowerEfficiency'] = df['RealPower'] / (df['SetPower'] + 1)
-        df['PowerDifference'] = df['RealPower'] - df['SetPower']
-        df['DutyPowerRatio'] = df['SetDuty'] * df['SetPower']
-        df['GateOnTimeRatio'] = df['GateOnTime'] / (df['Length'] + 1)
-        df['SpeedLengthRatio'] = df['Speed'] * df['Length']
-        
-        # 3. 컬럼 순서 정렬
-        feature_order = [
-            'Speed', 'Length', 'RealPower', 'SetFrequency', 'SetDuty', 'SetPower', 'GateOnTime',
-            'PowerEfficiency', 'PowerDifference', 'DutyPowerRatio', 'GateOnTimeRatio', 'SpeedLengthRatio'
-        ]
-        
-        X = df[feature_order]
-
-        # 4. 데이터 스케일링
-        X_scaled = scaler.transform(X)
-        
-        # 5. 예측 수행
-        prediction = model.predict(X_scaled)
-        
-        # 6. 결과 라벨 변환
-        prediction_label = encoder.inverse_transform(prediction)[0]
-        
-        return prediction_label
+        return _predict_frame(pd.DataFrame([data.dict()]))[0]
         
     except Exception as e:
         raise Exception(f"예측 처리 중 오류 발생: {str(e)}")
+
+
+def predict_battery_quality_batch(items):
+    """
+    여러 건의 배터리 용접 데이터를 한 번의 DataFrame 연산으로 예측합니다.
+    결과 라벨은 입력 순서와 동일한 순서로 반환됩니다.
+    """
+    if not model or not scaler:
+        if not load_battery_models():
+             raise Exception("모델이 로드되지 않았습니다.")
+
+    if not items:
+        return []
+
+    try:
+        return _predict_frame(pd.DataFrame([item.dict() for item in items]))
+    except Exception as e:
+        raise Exception(f"배치 예측 처리 중 오류 발생: {str(e)}")
+
+def _predict_frame(df):
+    # 1. 파생 변수 생성 (Feature Engineering)
+    df['PowerEfficiency'] = df['RealPower'] / (df['SetPower'] + 1)
+    df['PowerDifference'] = df['RealPower'] - df['SetPower']
+    df['DutyPowerRatio'] = df['SetDuty'] * df['SetPower']
+    df['GateOnTimeRatio'] = df['GateOnTime'] / (df['Length'] + 1)
+    df['SpeedLengthRatio'] = df['Speed'] * df['Length']
+
+    # 2. 컬럼 순서 정렬
+    feature_order = [
+        'Speed', 'Length', 'RealPower', 'SetFrequency', 'SetDuty', 'SetPower', 'GateOnTime',
+        'PowerEfficiency', 'PowerDifference', 'DutyPowerRatio', 'GateOnTimeRatio', 'SpeedLengthRatio'
+    ]
+    X = df[feature_order]
+
+    # 3. 데이터 스케일링 후 예측
+    X_scaled = scaler.transform(X)
+    prediction = model.predict(X_scaled)
+
+    # 4. 결과 라벨 변환
+    return [str(label) for label in encoder.inverse_transform(prediction)]
@@ -1,6 +1,8 @@
 from fastapi import FastAPI, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
 import os
+from typing import List
+from pydantic import BaseModel, ValidationError
 
 # 모듈 불러오기 (배터리 예측 로직)
 import battery 
@@ -36,6 +38,39 @@ def predict_endpoint(data: battery.BatteryPredictionRequest):
     except Exception as e:
         raise HTTPException(status_code=500, detail=str(e))
 
+class BatteryBatchRequest(BaseModel):
+    # 항목별로 검증하므로 잘못된 한 건이 배치 전체를 422로 만들지 않음
+    items: List[dict]
+
+# 배치 예측 엔드포인트 (백엔드 클라이언트가 여러 요청을 묶어서 호출)
+# predictions[i]는 라벨 또는 null이며, null이면 errors[i]에 실패 사유가 담김
+@app.post("/predict/batch")
+def predict_batch_endpoint(data: BatteryBatchRequest):
+    predictions = [None] * len(data.items)
+    errors = [None] * len(data.items)
+    valid = []
+    for i, item in enumerate(data.items):
+        try:
+            valid.append((i, battery.BatteryPredictionRequest(**item)))
+        except ValidationError as e:
+            errors[i] = str(e)
+
+    if not battery.load_battery_models_if_needed():
+        raise HTTPException(status_code=500, detail="모델이 로드되지 않았습니다.")
+
+    try:
+        labels = battery.predict_battery_quality_batch([request for _, request in valid])
+        for (i, _), label in zip(valid, labels):
+            predictions[i] = label
+    except Exception:
+        # 배치 연산이 실패하면 문제 항목만 실패하도록 한 건씩 다시 예측
+        for i, request in valid:
+            try:
+                predictions[i] = battery.predict_battery_quality(request)
+            except Exception as e:
+                errors[i] = str(e)
+    return {"predictions": predictions, "errors": errors}
+
 @app.get("/health")
 def health():
     return {